@@ -28,6 +28,8 @@ import com.microsoft.azure.toolkit.lib.auth.AzureToolkitAuthenticationException;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
 import com.microsoft.azure.toolkit.lib.common.logging.Log;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.common.metrics.InMemoryMetricsRegistry;
 import com.microsoft.azure.toolkit.lib.common.model.Subscription;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
 import com.microsoft.azure.toolkit.lib.common.proxy.ProxyInfo;
@@ -177,6 +179,35 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
     @Parameter(property = "authType")
     protected String authType;
 
+    /**
+     * Boolean flag to persist resource listings under `~/.azure/azure-toolkit/snapshots` and warm up later runs with them.
+     * Cached listings are always revalidated against Azure in background.
+     * @since 1.24.0
+     */
+    @Getter
+    @JsonProperty
+    @Parameter(property = "resourceSnapshot", defaultValue = "false")
+    protected boolean resourceSnapshot;
+
+    /**
+     * Boolean flag to persist rarely changed catalogs (e.g. regions and VM sizes) under `~/.azure/azure-toolkit/caches`
+     * and share them with later runs.
+     * @since 1.24.0
+     */
+    @Getter
+    @JsonProperty
+    @Parameter(property = "diskCache", defaultValue = "false")
+    protected boolean diskCache;
+
+    /**
+     * Boolean flag to collect metrics (e.g. cache hits and Azure operations) and print them at the end of the run.
+     * @since 1.24.0
+     */
+    @Getter
+    @JsonProperty
+    @Parameter(property = "metrics", defaultValue = "false")
+    protected boolean metrics;
+
     /**
      * Configuration for maven plugin authentication
      *
@@ -280,6 +311,11 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
             AzureMessager.setDefaultMessager(new MavenAzureMessager());
             Azure.az().config().setLogLevel(HttpLogDetailLevel.NONE.name());
             Azure.az().config().setUserAgent(getUserAgent());
+            Azure.az().config().setResourceSnapshotEnabled(this.resourceSnapshot);
+            Azure.az().config().setDiskCacheEnabled(this.diskCache);
+            if (this.metrics) {
+                AzureMetrics.register(new InMemoryMetricsRegistry());
+            }
             // init proxy manager
             initMavenSettingsProxy(Optional.ofNullable(this.session).map(MavenSession::getRequest).orElse(null));
             ProxyManager.getInstance().applyProxy();
@@ -312,6 +348,10 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
             // into endless loop when close, we need to call it in main thread.
             // Refer here for detail codes: https://github.com/Microsoft/ApplicationInsights-Java/blob/master/core/src
             // /main/java/com/microsoft/applicationinsights/internal/channel/common/ApacheSender43.java#L103
+            if (this.metrics) {
+                Log.info("Metrics:");
+                AzureMetrics.getRegistry().dump(line -> Log.info("  " + line));
+            }
             Optional.ofNullable(TextIOUtils.getTextTerminal()).ifPresent(TextTerminal::dispose);
             try {
                 // Sleep to wait ai sdk flush telemetries
@@ -7,8 +7,6 @@ package com.microsoft.azure.toolkit.maven.common.task;
 
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
-import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 public class MavenAzureTaskManager extends AzureTaskManager {
     @Override
@@ -26,11 +24,6 @@ public class MavenAzureTaskManager extends AzureTaskManager {
         throw new UnsupportedOperationException("not support");
     }
 
-    @Override
-    protected void doRunOnPooledThread(Runnable runnable, AzureTask<?> task) {
-        Mono.fromRunnable(runnable).subscribeOn(Schedulers.boundedElastic()).subscribe();
-    }
-
     @Override
     protected void doRunAndWait(Runnable runnable, AzureTask<?> task) {
         runnable.run();
@@ -15,6 +15,7 @@ import com.microsoft.azure.toolkit.lib.appservice.model.JavaVersion;
 import com.microsoft.azure.toolkit.lib.appservice.model.OperatingSystem;
 import com.microsoft.azure.toolkit.lib.appservice.model.Runtime;
 import com.microsoft.azure.toolkit.lib.appservice.model.WebContainer;
+import com.microsoft.azure.toolkit.lib.appservice.plan.AppServicePlan;
 import com.microsoft.azure.toolkit.lib.appservice.plan.AppServicePlanDraft;
 import com.microsoft.azure.toolkit.lib.appservice.webapp.AzureWebApp;
 import com.microsoft.azure.toolkit.lib.appservice.webapp.WebApp;
@@ -30,6 +31,8 @@ import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation.Type;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskScope;
+import com.microsoft.azure.toolkit.lib.resource.ResourceGroup;
 import com.microsoft.azure.toolkit.lib.resource.task.CreateResourceGroupTask;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -102,18 +105,29 @@ public class CreateOrUpdateWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
         final Region region = this.config.region();
         final AppServicePlanConfig planConfig = config.getServicePlanConfig();
 
-        new CreateResourceGroupTask(this.config.subscriptionId(), this.config.resourceGroup(), region).doExecute();
-
         final AppServicePlanDraft planDraft = Azure.az(AzureAppService.class).plans(planConfig.getSubscriptionId())
             .updateOrCreate(planConfig.getName(), planConfig.getResourceGroupName());
         planDraft.setPlanConfig(planConfig);
 
         final WebAppDraft appDraft = Azure.az(AzureWebApp.class).webApps(config.subscriptionId()).create(config.appName(), config.resourceGroup());
-        appDraft.setAppServicePlan(planDraft.commit());
         appDraft.setRuntime(getRuntime(config.runtime()));
         appDraft.setDockerConfiguration(getDockerConfiguration(config.runtime()));
         appDraft.setAppSettings(config.appSettings());
-        return appDraft.createIfNotExist();
+
+        try (final AzureTaskScope scope = AzureTaskScope.open(null)) {
+            final AzureTaskScope.Subtask<ResourceGroup> group = scope.fork(new AzureTask<>(() ->
+                new CreateResourceGroupTask(this.config.subscriptionId(), this.config.resourceGroup(), region).doExecute()));
+            // plan in another resource group (which is created by the plan itself if needed) is created along with the resource group of app.
+            final boolean sameGroup = StringUtils.equalsIgnoreCase(planConfig.getSubscriptionId(), config.subscriptionId()) &&
+                StringUtils.equalsIgnoreCase(planConfig.getResourceGroupName(), config.resourceGroup());
+            final AzureTaskScope.Subtask<AppServicePlan> plan = scope.fork(new AzureTask<>(planDraft::commit), sameGroup ? group : null);
+            final AzureTaskScope.Subtask<WebApp> app = scope.fork(new AzureTask<>(() -> {
+                appDraft.setAppServicePlan(plan.get());
+                return appDraft.createIfNotExist();
+            }), group, plan);
+            scope.join();
+            return app.get();
+        }
     }
 
     @AzureOperation(name = "webapp.update_app.app", params = {"this.config.appName()"}, type = Type.SERVICE)
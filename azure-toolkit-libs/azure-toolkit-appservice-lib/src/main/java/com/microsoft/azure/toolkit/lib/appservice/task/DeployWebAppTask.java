@@ -13,10 +13,11 @@ import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskScope;
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
@@ -50,12 +51,11 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
             AzureMessager.getMessager().info(AzureString.format(SKIP_DEPLOYMENT_FOR_DOCKER_APP_SERVICE, "https://" + webApp.getHostName()));
             return webApp;
         }
-        try {
+        try (final AzureTaskScope scope = AzureTaskScope.open(null)) {
             AzureMessager.getMessager().info(String.format(DEPLOY_START, webApp.name()));
-            if (isStopAppDuringDeployment) {
-                stopAppService(webApp);
-            }
-            deployArtifacts();
+            final AzureTaskScope.Subtask<Void> stop = isStopAppDuringDeployment ? scope.fork(new AzureTask<>(() -> stopAppService(webApp, scope))) : null;
+            scope.fork(new AzureTask<>(this::deployArtifacts), stop);
+            scope.join();
             AzureMessager.getMessager().info(String.format(DEPLOY_FINISH, webApp.getHostName()));
         } finally {
             startAppService(webApp);
@@ -75,16 +75,12 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
         OperationContext.action().setTelemetryProperty("deploy-cost", String.valueOf(System.currentTimeMillis() - startTime));
     }
 
-    private static void stopAppService(WebAppBase<?, ?, ?> target) {
+    private static void stopAppService(WebAppBase<?, ?, ?> target, AzureTaskScope scope) {
         AzureMessager.getMessager().info(STOP_APP);
         target.stop();
         // workaround for the resources release problem.
         // More details: https://github.com/Microsoft/azure-maven-plugins/issues/191
-        try {
-            TimeUnit.SECONDS.sleep(10 /* 10 seconds */);
-        } catch (InterruptedException e) {
-            // swallow exception
-        }
+        scope.sleep(Duration.ofSeconds(10));
         AzureMessager.getMessager().info(STOP_APP_DONE);
     }
 
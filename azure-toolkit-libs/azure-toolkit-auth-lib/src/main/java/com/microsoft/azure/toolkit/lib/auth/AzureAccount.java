@@ -20,6 +20,7 @@ import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.logging.Log;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.model.AzResourceSnapshot;
 import com.microsoft.azure.toolkit.lib.common.model.Region;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
@@ -157,6 +158,7 @@ public class AzureAccount implements IAzureAccount {
         if (Objects.nonNull(oldAccount)) {
             oldAccount.logout();
             this.accountRef = null;
+            AzResourceSnapshot.clear(); // snapshots of the signed-out account must not warm up the next one.
             AzureEventBus.emit("account.logged_out.account", oldAccount);
         }
     }
@@ -187,7 +189,7 @@ public class AzureAccount implements IAzureAccount {
     /**
      * see doc for: az account list-locations -o table
      */
-    @Cacheable(cacheName = "subscriptions/{}/regions", key = "$subscriptionId")
+    @Cacheable(cacheName = "subscriptions/{}/regions", key = "$subscriptionId", diskLifetime = 24 * 60 * 60 * 1000L, refreshAfter = 60 * 60 * 1000L)
     public List<Region> listRegions(String subscriptionId) {
         return getSubscription(subscriptionId).listLocations().stream()
             .filter(l -> l.regionType() == RegionType.PHYSICAL) // use distinct since com.azure.core.management.Region impels equals
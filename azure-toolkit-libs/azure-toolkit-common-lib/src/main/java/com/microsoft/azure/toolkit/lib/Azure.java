@@ -12,12 +12,17 @@ import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.resource.AzureResources;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.stream.Collectors;
@@ -31,7 +36,7 @@ public class Azure {
         this.configuration = new AzureConfiguration();
     }
 
-    public static synchronized <T extends AzService> T az(final Class<T> clazz) {
+    public static <T extends AzService> T az(final Class<T> clazz) {
         final T service = Optional.ofNullable(getService(clazz)).orElseGet(() -> {
             ServiceManager.reload();
             return getService(clazz);
@@ -42,17 +47,24 @@ public class Azure {
 
     @Nullable
     private static <T extends AzService> T getService(Class<T> clazz) {
-        return ServiceManager.getServices().stream().filter(clazz::isInstance).map(clazz::cast).findAny().orElse(null);
+        return clazz.cast(ServiceManager.getRegistry().byType.get(clazz));
     }
 
     @Nullable
     private static AzService getService(String provider) {
-        return ServiceManager.getServices().stream().filter(s -> StringUtils.equalsIgnoreCase(provider, s.getName())).findAny().orElse(null);
+        return ServiceManager.getRegistry().services.stream().filter(s -> StringUtils.equalsIgnoreCase(provider, s.getName())).findAny().orElse(null);
     }
 
     @Nonnull
     public static <T extends AzService> List<T> getServices(Class<T> clazz) {
-        return ServiceManager.getServices().stream().filter(clazz::isInstance).map(clazz::cast).collect(Collectors.toList());
+        return ServiceManager.getRegistry().services.stream().filter(clazz::isInstance).map(clazz::cast).collect(Collectors.toList());
+    }
+
+    /**
+     * reload all {@link AzService}s from {@link ServiceLoader}, e.g. after new service providers are installed.
+     */
+    public static void reloadServices() {
+        ServiceManager.reload();
     }
 
     @Nullable
@@ -99,19 +111,45 @@ public class Azure {
 
     private static class ServiceManager {
         private static final ServiceLoader<AzService> loader = ServiceLoader.load(AzService.class, Azure.class.getClassLoader());
-        private static final List<AzService> services = new ArrayList<>();
-
-        public static synchronized List<AzService> getServices() {
-            if (services.isEmpty()) {
-                reload();
+        @Nullable
+        private static volatile Registry registry;
+
+        @Nonnull
+        public static Registry getRegistry() {
+            final Registry current = registry;
+            if (Objects.nonNull(current)) {
+                return current;
+            }
+            synchronized (ServiceManager.class) {
+                if (Objects.isNull(registry)) {
+                    reload();
+                }
+                return Objects.requireNonNull(registry);
             }
-            return services;
         }
 
         public static synchronized void reload() {
             ServiceManager.loader.reload();
-            services.clear();
+            final List<AzService> services = new ArrayList<>();
             ServiceManager.loader.forEach(services::add);
+            registry = new Registry(services);
+        }
+    }
+
+    /**
+     * immutable snapshot of loaded services, indexed by every class/interface a service is assignable to.
+     */
+    private static class Registry {
+        private final List<AzService> services;
+        private final Map<Class<?>, AzService> byType;
+
+        private Registry(@Nonnull List<AzService> services) {
+            final Map<Class<?>, AzService> byType = new HashMap<>();
+            for (final AzService service : services) {
+                ClassUtils.hierarchy(service.getClass(), ClassUtils.Interfaces.INCLUDE).forEach(t -> byType.putIfAbsent(t, service));
+            }
+            this.services = Collections.unmodifiableList(services);
+            this.byType = Collections.unmodifiableMap(byType);
         }
     }
 }
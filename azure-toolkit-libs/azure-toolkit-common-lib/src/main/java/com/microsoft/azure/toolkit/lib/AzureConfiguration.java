@@ -6,6 +6,7 @@
 package com.microsoft.azure.toolkit.lib;
 
 import com.microsoft.azure.toolkit.lib.common.proxy.ProxyInfo;
+import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -27,6 +28,18 @@ public class AzureConfiguration {
     private int httpProxyPort;
     private String proxyUsername;
     private String proxyPassword;
+    private Boolean resourceSnapshotEnabled; // null means false
+    private String resourceSnapshotPath; // null means ~/.azure/azure-toolkit/snapshots
+    private Integer ioConcurrency; // null means 16
+    private Boolean diskCacheEnabled; // null means false
+    private String diskCachePath; // null means ~/.azure/azure-toolkit/caches
+    private Long cacheBudget; // null means 10000, default max weight of each @Cacheable cache
+    private Integer taskConcurrency; // null means 64, only if virtual threads are not supported
+
+    public void setTelemetryEnabled(Boolean telemetryEnabled) {
+        this.telemetryEnabled = telemetryEnabled;
+        AzureTelemeter.setTelemetryEnabled(!Boolean.FALSE.equals(telemetryEnabled));
+    }
 
     public void setProxyInfo(ProxyInfo proxy) {
         this.setProxySource(proxy.getSource());
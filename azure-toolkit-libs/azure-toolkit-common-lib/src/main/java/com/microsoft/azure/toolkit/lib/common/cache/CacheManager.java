@@ -8,45 +8,96 @@ package com.microsoft.azure.toolkit.lib.common.cache;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.common.task.AzureIoExecutor;
 import com.microsoft.azure.toolkit.lib.common.utils.aspect.ExpressionUtils;
 import com.microsoft.azure.toolkit.lib.common.utils.aspect.MethodInvocation;
 import lombok.extern.java.Log;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
 
 @Aspect
 @Log
 public class CacheManager {
+    public static final long DEFAULT_BUDGET = 10000;
+    /**
+     * budgets (max total weight) by cache name, see {@link #setBudget(String, long)}
+     */
+    private static final Map<String, Long> budgets = new ConcurrentHashMap<>();
     private static final CacheLoader<String, Cache<Object, Object>> loader = new CacheLoader<String, Cache<Object, Object>>() {
         @Nonnull
         @Override
-        public Cache<Object, Object> load(@Nonnull String key) {
+        public Cache<Object, Object> load(@Nonnull String name) {
+            // entries are bounded by weight instead of soft references, so that eviction doesn't depend on GC.
+            // single segment: guava splits the max weight evenly among segments, an entry heavier than its segment's
+            // share would be evicted right after being loaded. entries are loaded rarely, so write contention is negligible.
             return CacheBuilder.newBuilder()
-                .softValues()
-                .expireAfterAccess(4, TimeUnit.HOURS) // TODO: justify
+                .concurrencyLevel(1)
+                .maximumWeight(getBudget(name))
+                .weigher(CacheManager::weigh)
+                .expireAfterAccess(4, TimeUnit.HOURS) // values not used for hours are probably outdated.
+                .recordStats()
+                .removalListener((RemovalNotification<Object, Object> n) -> {
+                    if (n.getCause() != RemovalCause.REPLACED) {
+                        refreshes.remove(Pair.of(name, String.valueOf(n.getKey())));
+                    }
+                })
                 .build();
         }
     };
+    // named caches are only dropped if not used for hours, their entries are bounded by their own budgets.
     private static final LoadingCache<String, Cache<Object, Object>> caches = CacheBuilder.newBuilder()
-        .softValues()
-        .expireAfterAccess(4, TimeUnit.HOURS) // TODO: justify
+        .expireAfterAccess(4, TimeUnit.HOURS)
         .build(loader);
 
+    /**
+     * in-flight loadings of async (i.e. {@link Mono}, {@link Flux} and {@link CompletionStage}) results by (cache name, key),
+     * shared by concurrent callers until the resolved value is cached.
+     */
+    private static final Map<Pair<String, String>, Object> inflights = new ConcurrentHashMap<>();
+    /**
+     * when (in milliseconds) entries of methods with {@link Cacheable#refreshAfter()} are due to refresh by (cache name, key),
+     * {@link Long#MAX_VALUE} means refreshing.
+     */
+    private static final Map<Pair<String, String>, Long> refreshes = new ConcurrentHashMap<>();
+
     private static final Map<Class<?>, Object> histories = new ConcurrentHashMap<>();
     private static final Map<String, Object> namedHistories = new ConcurrentHashMap<>();
 
@@ -75,14 +126,21 @@ public class CacheManager {
         final String condition = annotation.condition();
         final boolean toUseCache = StringUtils.isBlank(condition) || ExpressionUtils.evaluate(condition, invocation, true);
         final Cache<Object, Object> cache = caches.get(name);
+        final Class<?> returnType = signature.getReturnType();
+        final boolean async = Mono.class.isAssignableFrom(returnType) || Flux.class.isAssignableFrom(returnType)
+            || CompletionStage.class.isAssignableFrom(returnType);
         if (toUseCache) {
             log.fine(String.format("loading data from cache[%s.%s] on method[%s]", name, key, signature.getName()));
-            return readCache(cache, key, point);
+            return async ? readCacheAsync(cache, name, key, point) : readCache(cache, name, key, point);
         }
         log.fine(String.format("skipping cache[%s.%s] on method[%s]", name, key, signature.getName()));
         final Object result = point.proceed();
-        if (Objects.nonNull(result)) {
+        if (async) {
+            return resolveAsync(result, resolved -> resolved.ifPresent(v -> cache.put(key, v)));
+        } else if (Objects.nonNull(result)) {
             cache.put(key, Optional.of(result));
+            persist(name, key, result, annotation);
+            scheduleRefresh(name, key, annotation);
         }
         return result;
     }
@@ -112,53 +170,251 @@ public class CacheManager {
         } else if (StringUtils.equals(CacheEvict.ALL, name)) { // invalidate all cache entries if cache name not specified
             log.fine("invalidate all caches");
             caches.invalidateAll();
+            inflights.clear();
+            refreshes.clear();
+            DiskCache.clear();
         } else {
             if (StringUtils.isBlank(key)) {
                 log.warning(String.format("key is not specified when invalidating cache[%s]", name));
             } else if (StringUtils.equals(CacheEvict.ALL, key)) { // invalidate all cache entries of named cache if only cache name is specified
                 log.fine(String.format("invalidate all entries in cache[%s]", name));
                 caches.invalidate(name);
+                inflights.keySet().removeIf(k -> StringUtils.equals(k.getLeft(), name));
+                refreshes.keySet().removeIf(k -> StringUtils.equals(k.getLeft(), name));
+                DiskCache.delete(name, null);
             } else { // invalidate key specified cache entry of named cache if both cache name and key are specified
                 log.fine(String.format("invalidate cache entry[%s.%s]", name, key));
                 caches.get(name).invalidate(key);
+                inflights.remove(Pair.of(name, key));
+                DiskCache.delete(name, key);
             }
         }
     }
 
-    private Object readCache(Cache<Object, Object> cache, String key, ProceedingJoinPoint point) throws Throwable {
-        final Optional<?> result = (Optional<?>) cache.get(key, () -> {
-            try {
+    private Object readCache(Cache<Object, Object> cache, String name, String key, ProceedingJoinPoint point) throws Throwable {
+        final Method method = ((MethodSignature) point.getSignature()).getMethod();
+        final Cacheable annotation = method.getAnnotation(Cacheable.class);
+        final AtomicBoolean loaded = new AtomicBoolean();
+        try {
+            // concurrent callers of the same key wait for the same loading, exceptions are thrown to all of them but never cached.
+            final Optional<?> value = (Optional<?>) cache.get(key, () -> {
+                loaded.set(true);
+                final long lifetime = annotation.diskLifetime();
+                final Object persisted = lifetime > 0 && DiskCache.isEnabled() ? DiskCache.read(name, key, method.getGenericReturnType(), lifetime) : null;
+                if (Objects.nonNull(persisted)) {
+                    log.fine(String.format("cache[%s] loaded from disk on method[%s]", key, point.getSignature().getName()));
+                    AzureMetrics.counter("cache.disk_hit[%s]", name).increment();
+                    return Optional.of(persisted);
+                }
                 log.fine(String.format("cache[%s] miss on method[%s]", key, point.getSignature().getName()));
-                return Optional.ofNullable(point.proceed());
-            } catch (final Throwable throwable) {
-                log.log(Level.FINE, String.format("error occurs on loading data into cache[%s] on method[%s]", key, point.getSignature().getName()), throwable);
-                return Optional.of(throwable);
+                final Object result = load(name, point);
+                if (Objects.nonNull(result)) {
+                    persist(name, key, result, annotation);
+                }
+                return Optional.ofNullable(result);
+            });
+            AzureMetrics.counter(loaded.get() ? "cache.miss[%s]" : "cache.hit[%s]", name).increment();
+            if (loaded.get()) {
+                scheduleRefresh(name, key, annotation);
+            } else if (annotation.refreshAfter() > 0) {
+                refreshIfDue(cache, name, key, point);
+            }
+            return value.orElse(null);
+        } catch (final ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            final Throwable cause = e.getCause() instanceof UndeclaredThrowableException ? e.getCause().getCause() : e.getCause();
+            log.log(Level.FINE, String.format("error occurs on loading data into cache[%s] on method[%s]", key, point.getSignature().getName()), cause);
+            throw cause;
+        }
+    }
+
+    /**
+     * never blocks: the cached (resolved) value is wrapped as the return type of the method, otherwise the method is called
+     * and its result is shared among concurrent callers until it's resolved and cached. errors are not cached.
+     */
+    private Object readCacheAsync(Cache<Object, Object> cache, String name, String key, ProceedingJoinPoint point) throws Throwable {
+        final Class<?> returnType = ((MethodSignature) point.getSignature()).getReturnType();
+        final Optional<?> cached = (Optional<?>) cache.getIfPresent(key);
+        AzureMetrics.counter(Objects.nonNull(cached) ? "cache.hit[%s]" : "cache.miss[%s]", name).increment();
+        if (Objects.nonNull(cached)) {
+            if (Mono.class.isAssignableFrom(returnType)) {
+                return Mono.justOrEmpty(cached.orElse(null));
+            } else if (Flux.class.isAssignableFrom(returnType)) {
+                return Flux.fromIterable(cached.map(v -> (List<?>) v).orElse(Collections.emptyList()));
+            }
+            return CompletableFuture.completedFuture(cached.orElse(null));
+        }
+        final Pair<String, String> id = Pair.of(name, key);
+        Object inflight = inflights.get(id);
+        if (Objects.isNull(inflight)) {
+            log.fine(String.format("cache[%s] miss on method[%s]", key, point.getSignature().getName()));
+            // not `computeIfAbsent`: an already completed future is resolved synchronously, which removes it from `inflights`.
+            final AtomicReference<Object> shared = new AtomicReference<>();
+            final AtomicBoolean resolved = new AtomicBoolean();
+            shared.set(resolveAsync(point.proceed(), value -> {
+                value.ifPresent(v -> cache.put(key, v)); // cached as `Optional` of the value, like sync methods.
+                resolved.set(true);
+                Optional.ofNullable(shared.get()).ifPresent(s -> inflights.remove(id, s));
+            }));
+            inflight = Optional.ofNullable(inflights.putIfAbsent(id, shared.get())).orElse(shared.get());
+            if (resolved.get()) {
+                inflights.remove(id, shared.get());
+            }
+        }
+        if (inflight instanceof CompletableFuture) {
+            return ((CompletableFuture<?>) inflight).thenApply(v -> v); // keep the shared one from being completed/cancelled by callers.
+        }
+        return inflight;
+    }
+
+    /**
+     * @param onResolved called with the resolved value (a list for {@link Flux}) if succeeded or {@code Optional.empty()} if failed.
+     * @return a result of the same type as {@code result} that can be shared among multiple subscribers/callers.
+     */
+    private static Object resolveAsync(Object result, Consumer<Optional<?>> onResolved) {
+        if (result instanceof Mono) {
+            return ((Mono<?>) result)
+                .doOnSuccess(v -> onResolved.accept(Optional.of(Optional.ofNullable(v))))
+                .doOnError(e -> onResolved.accept(Optional.empty()))
+                .doOnCancel(() -> onResolved.accept(Optional.empty()))
+                .cache();
+        } else if (result instanceof Flux) {
+            return ((Flux<?>) result).collectList()
+                .doOnSuccess(v -> onResolved.accept(Optional.of(Optional.of(v))))
+                .doOnError(e -> onResolved.accept(Optional.empty()))
+                .doOnCancel(() -> onResolved.accept(Optional.empty()))
+                .cache()
+                .flatMapMany(Flux::fromIterable);
+        } else if (result instanceof CompletionStage) {
+            return ((CompletionStage<?>) result).toCompletableFuture()
+                .whenComplete((v, e) -> onResolved.accept(Objects.isNull(e) ? Optional.of(Optional.ofNullable(v)) : Optional.empty()));
+        }
+        onResolved.accept(Optional.empty());
+        return result;
+    }
+
+    private static void scheduleRefresh(String name, String key, Cacheable annotation) {
+        final long refreshAfter = annotation.refreshAfter();
+        if (refreshAfter > 0) {
+            // +/-10% jitter, so that entries (and processes) loaded at the same time don't refresh in lockstep.
+            final long jitter = ThreadLocalRandom.current().nextLong(-refreshAfter / 10, refreshAfter / 10 + 1);
+            refreshes.put(Pair.of(name, key), System.currentTimeMillis() + refreshAfter + jitter);
+        }
+    }
+
+    /**
+     * reload the entry in background if it's due to refresh, callers keep getting the current value until it's reloaded.
+     */
+    private static void refreshIfDue(Cache<Object, Object> cache, String name, String key, ProceedingJoinPoint point) {
+        final Pair<String, String> id = Pair.of(name, key);
+        final Long due = refreshes.get(id);
+        if (Objects.isNull(due) || due > System.currentTimeMillis() || !refreshes.replace(id, due, Long.MAX_VALUE)) {
+            return;
+        }
+        final Cacheable annotation = ((MethodSignature) point.getSignature()).getMethod().getAnnotation(Cacheable.class);
+        AzureIoExecutor.getInstance().execute("cache.refresh", () -> {
+            try {
+                log.fine(String.format("refreshing cache[%s.%s] on method[%s]", name, key, point.getSignature().getName()));
+                final Object result = load(name, point);
+                if (Objects.nonNull(result) && refreshes.containsKey(id)) { // not evicted while refreshing
+                    cache.put(key, Optional.of(result));
+                    persist(name, key, result, annotation);
+                }
+                scheduleRefresh(name, key, annotation);
+            } catch (final Exception e) {
+                log.log(Level.FINE, String.format("error occurs on refreshing cache[%s.%s] on method[%s]", name, key, point.getSignature().getName()), e);
+                // retry on later access, but not immediately.
+                refreshes.replace(id, Long.MAX_VALUE, System.currentTimeMillis() + annotation.refreshAfter() / 10);
             }
         });
-        if (result.isPresent() && result.get() instanceof Throwable) {
-            cache.invalidate(key);
-            throw (Throwable) result.get();
-        } else {
-            return result.orElse(null);
+    }
+
+    private static void persist(String name, String key, Object value, Cacheable annotation) {
+        if (annotation.diskLifetime() > 0 && DiskCache.isEnabled()) {
+            AzureIoExecutor.getInstance().execute("cache.persist", () -> DiskCache.write(name, key, value));
+        }
+    }
+
+    /**
+     * the time taken is recorded as metric {@code cache.load[<cache name>]}.
+     */
+    private static Object load(String name, ProceedingJoinPoint point) throws Exception {
+        final long start = System.nanoTime();
+        try {
+            return proceed(point);
+        } finally {
+            AzureMetrics.timer("cache.load[%s]", name).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Object proceed(ProceedingJoinPoint point) throws Exception {
+        try {
+            return point.proceed();
+        } catch (final Exception | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    /**
+     * set the budget (max total weight of all entries) of the named cache, the cache is recreated (i.e. cleared) if it exists.
+     * the weight of an entry is 1 + the number of elements of the cached collection/map/array, or 1 for other values.
+     * an entry heavier than the budget is never kept.
+     */
+    public static void setBudget(@Nonnull final String name, final long budget) {
+        budgets.put(name, budget);
+        caches.invalidate(name);
+        refreshes.keySet().removeIf(k -> StringUtils.equals(k.getLeft(), name));
+    }
+
+    private static long getBudget(@Nonnull final String name) {
+        return Optional.ofNullable(budgets.get(name))
+            .orElseGet(() -> Optional.ofNullable(Azure.az().config().getCacheBudget()).filter(b -> b > 0).orElse(DEFAULT_BUDGET));
+    }
+
+    private static int weigh(@Nonnull Object key, @Nonnull Object value) {
+        final Object v = ((Optional<?>) value).orElse(null);
+        if (v instanceof Collection) {
+            return 1 + ((Collection<?>) v).size();
+        } else if (v instanceof Map) {
+            return 1 + ((Map<?, ?>) v).size();
+        } else if (Objects.nonNull(v) && v.getClass().isArray()) {
+            return 1 + Array.getLength(v);
         }
+        return 1;
     }
 
+    /**
+     * @return stats (e.g. hit rate, load time and evictions) of all existing caches by name.
+     */
+    @Nonnull
+    public static Map<String, CacheStats> getStats() {
+        return caches.asMap().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().stats()));
+    }
+
+    @Nullable
+    public static CacheStats getStats(@Nonnull final String name) {
+        return Optional.ofNullable(caches.getIfPresent(name)).map(Cache::stats).orElse(null);
+    }
+
+    /**
+     * @return the usage history shared by {@code clazz} and its super/sub classes, resolved by scanning only on the first
+     * lookup of {@code clazz} and then keyed by {@code clazz} directly.
+     */
     @SuppressWarnings("unchecked")
     public static <T> LRUStack<T> getUsageHistory(final Class<T> clazz) {
-        if (histories.containsKey(clazz)) {
-            return (LRUStack<T>) histories.get(clazz);
-        } else {
-            final Optional<Map.Entry<Class<?>, Object>> found = histories.entrySet().stream().filter(e -> e.getKey().isAssignableFrom(clazz) || clazz.isAssignableFrom(e.getKey())).findFirst();
-            if (found.isPresent()) {
-                return (LRUStack<T>) found.get().getValue();
-            } else {
-                return (LRUStack<T>) histories.computeIfAbsent(clazz, c -> new LRUStack<>());
-            }
+        final Object history = histories.get(clazz);
+        if (Objects.nonNull(history)) {
+            return (LRUStack<T>) history;
         }
+        return (LRUStack<T>) histories.computeIfAbsent(clazz, c -> histories.entrySet().stream()
+            .filter(e -> e.getKey().isAssignableFrom(c) || c.isAssignableFrom(e.getKey()))
+            .findFirst().map(Map.Entry::getValue).orElseGet(LRUStack::new));
     }
 
     @SuppressWarnings("unchecked")
     public static <T> LRUStack<T> getUsageHistory(final String name) {
-        return (LRUStack<T>) namedHistories.computeIfAbsent(name, n -> new LRUStack<>());
+        final Object history = namedHistories.get(name);
+        return (LRUStack<T>) (Objects.nonNull(history) ? history : namedHistories.computeIfAbsent(name, n -> new LRUStack<>()));
     }
 }
@@ -42,4 +42,18 @@ public @interface Cacheable {
      * e.g. groovy expression: {@code "this.isLoading()" } {@code "this.loading" },  {@code "this.subscriptionId=='xxx'" }
      */
     String condition() default "";
+
+    /**
+     * how long (in milliseconds) the cached value is persisted on disk and shared across processes if disk cache is
+     * {@link com.microsoft.azure.toolkit.lib.AzureConfiguration#getDiskCacheEnabled() enabled}, 0 means never persisted.
+     * only for rarely changed values (e.g. regions) which can be (de)serialized by jackson.
+     */
+    long diskLifetime() default 0;
+
+    /**
+     * how long (in milliseconds, with +/-10% jitter) after loaded the cached value is reloaded in background on access,
+     * callers keep getting the current value meanwhile. 0 means never refreshed.
+     * only for methods returning values synchronously.
+     */
+    long refreshAfter() default 0;
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import com.microsoft.azure.toolkit.lib.Azure;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.java.Log;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * opt-in on-disk second tier of {@link CacheManager}, used to share rarely changed catalogs (e.g. regions and VM sizes) across processes.
+ * only values of methods annotated with a positive {@link Cacheable#diskLifetime()} are persisted, as gzipped json,
+ * one file per entry under {@code ~/.azure/azure-toolkit/caches/<hash of cache name>/<hash of key>.json.gz}.
+ */
+@Log
+class DiskCache {
+    private static final Path DEFAULT_CACHE_DIR = Paths.get(System.getProperty("user.home"), ".azure", "azure-toolkit", "caches");
+    private static final String EXTENSION = ".json.gz";
+    private static final ObjectMapper MAPPER = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    static boolean isEnabled() {
+        return Boolean.TRUE.equals(Azure.az().config().getDiskCacheEnabled());
+    }
+
+    /**
+     * @param type type of the value, i.e. generic return type of the cached method.
+     * @return the persisted value if it's persisted within {@code lifetime} (in milliseconds), otherwise null.
+     */
+    @Nullable
+    static Object read(@Nonnull String name, @Nonnull String key, @Nonnull Type type, long lifetime) {
+        final File file = getEntryFile(name, key);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+            final Entry entry = MAPPER.readValue(input, Entry.class);
+            if (!StringUtils.equals(entry.getName(), name) || !StringUtils.equals(entry.getKey(), key) || Objects.isNull(entry.getValue())
+                || System.currentTimeMillis() - entry.getTime() > lifetime) {
+                return null;
+            }
+            return MAPPER.readerFor(MAPPER.getTypeFactory().constructType(type)).readValue(entry.getValue());
+        } catch (final IOException | RuntimeException e) {
+            log.log(Level.FINE, String.format("failed to read persisted cache entry[%s.%s]", name, key), e);
+            return null;
+        }
+    }
+
+    /**
+     * persist {@code value} by replacing the entry file atomically, failures are logged only.
+     */
+    static void write(@Nonnull String name, @Nonnull String key, @Nonnull Object value) {
+        final File target = getEntryFile(name, key);
+        try {
+            Files.createDirectories(target.toPath().getParent());
+            final Path temp = Files.createTempFile(target.toPath().getParent(), target.getName(), ".tmp");
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                MAPPER.writeValue(output, new Entry(name, key, System.currentTimeMillis(), MAPPER.valueToTree(value)));
+            }
+            try {
+                Files.move(temp, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (final IOException | RuntimeException e) {
+            log.log(Level.FINE, String.format("failed to persist cache entry[%s.%s]", name, key), e);
+        }
+    }
+
+    /**
+     * delete the persisted entry of {@code key} in cache {@code name}, or all entries of the cache if {@code key} is null.
+     */
+    static void delete(@Nonnull String name, @Nullable String key) {
+        final File file = Objects.isNull(key) ? getCacheDir(name) : getEntryFile(name, key);
+        if (file.exists() && !FileUtils.deleteQuietly(file)) {
+            log.fine(String.format("failed to delete persisted cache entry(%s)", file));
+        }
+    }
+
+    /**
+     * delete all persisted entries, e.g. when signing out.
+     */
+    static void clear() {
+        final File dir = getRootDir().toFile();
+        if (dir.exists() && !FileUtils.deleteQuietly(dir)) {
+            log.fine(String.format("failed to delete persisted caches(%s)", dir));
+        }
+    }
+
+    @Nonnull
+    private static File getEntryFile(@Nonnull String name, @Nonnull String key) {
+        return new File(getCacheDir(name), hash(key) + EXTENSION);
+    }
+
+    @Nonnull
+    private static File getCacheDir(@Nonnull String name) {
+        return getRootDir().resolve(hash(name)).toFile();
+    }
+
+    @Nonnull
+    private static Path getRootDir() {
+        return Optional.ofNullable(Azure.az().config().getDiskCachePath()).filter(StringUtils::isNotBlank)
+            .map(Paths::get).orElse(DEFAULT_CACHE_DIR);
+    }
+
+    @Nonnull
+    private static String hash(@Nonnull String value) {
+        return Hashing.sha256().hashString(value, StandardCharsets.UTF_8).toString();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Entry {
+        private String name;
+        private String key;
+        private long time;
+        private JsonNode value;
+    }
+}
@@ -5,48 +5,98 @@
 
 package com.microsoft.azure.toolkit.lib.common.cache;
 
-import com.google.common.collect.Lists;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
-@Getter
-@RequiredArgsConstructor
+/**
+ * the most recently used (at most {@link #size}) values. reads are lock-free and allocation-free: values are kept in an
+ * immutable array (most recent first) which is replaced (CAS) on {@link #push(Object) push}. pushing a value equal to an existing one
+ * moves the existing instance to the top (a no-op if it's already the most recent) instead of replacing it.
+ */
 public class LRUStack<T> {
+    private static final Object[] EMPTY = new Object[0];
+
+    @Getter
     private final int size;
+    private final AtomicReference<Object[]> values = new AtomicReference<>(EMPTY);
 
     public LRUStack() {
-        this.size = 5;
+        this(5);
     }
 
-    private final Map<T, T> data = Collections.synchronizedMap(new LinkedHashMap<T, T>(5, 0.75f, true) {
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<T, T> eldest) {
-            return this.size() > size;
-        }
-    });
+    public LRUStack(int size) {
+        this.size = size;
+    }
 
+    /**
+     * @return the most recently used value matching {@code condition}.
+     */
+    @SuppressWarnings("unchecked")
     public T peek(Predicate<T> condition) {
-        return Lists.reverse(new LinkedList<>(this.data.values())).stream().filter(condition).findFirst().orElse(null);
+        for (final Object value : this.values.get()) {
+            if (condition.test((T) value)) {
+                return (T) value;
+            }
+        }
+        return null;
     }
 
+    @SuppressWarnings("unchecked")
     public T peek() {
-        if (this.data.isEmpty()) {
-            return null;
-        }
-        return new LinkedList<>(this.data.values()).getLast();
+        final Object[] current = this.values.get();
+        return current.length == 0 ? null : (T) current[0];
     }
 
     public void push(T v) {
-        final T t = this.data.get(v);
-        if (Objects.isNull(t)) {
-            this.data.put(v, v);
+        Objects.requireNonNull(v);
+        if (this.size <= 0) {
+            return;
+        }
+        while (true) {
+            final Object[] current = this.values.get();
+            if (current.length > 0 && Objects.equals(current[0], v)) {
+                return;
+            }
+            final int index = indexOf(current, v);
+            final int length = index >= 0 ? current.length : Math.min(current.length + 1, this.size);
+            final Object[] updated = new Object[length];
+            updated[0] = index >= 0 ? current[index] : v;
+            for (int i = 0, j = 1; j < length; i++) {
+                if (i != index) {
+                    updated[j++] = current[i];
+                }
+            }
+            if (this.values.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return snapshot of values from the least to the most recently used.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<T, T> getData() {
+        final Object[] current = this.values.get();
+        final Map<T, T> data = new LinkedHashMap<>();
+        for (int i = current.length - 1; i >= 0; i--) {
+            data.put((T) current[i], (T) current[i]);
+        }
+        return Collections.unmodifiableMap(data);
+    }
+
+    private static int indexOf(Object[] values, Object v) {
+        for (int i = 0; i < values.length; i++) {
+            if (Objects.equals(values[i], v)) {
+                return i;
+            }
         }
+        return -1;
     }
 }
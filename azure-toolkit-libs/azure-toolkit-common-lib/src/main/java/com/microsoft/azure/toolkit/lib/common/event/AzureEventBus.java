@@ -5,43 +5,64 @@
 
 package com.microsoft.azure.toolkit.lib.common.event;
 
-import com.google.common.eventbus.AsyncEventBus;
-import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.Subscribe;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskExecutor;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NonNls;
-import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
-@SuppressWarnings("UnstableApiUsage")
+/**
+ * events are queued by type (at most {@link #QUEUE_CAPACITY} of each type) and dispatched to listeners in order by a drainer
+ * per type on {@link AzureTaskExecutor#getExecutor() pooled threads}, so a slow listener only delays events of its own type.
+ * an event without payload is dropped if an event of the same type and source is still queued (there is no time window),
+ * and the oldest queued event of a type is dropped once its queue is full.
+ */
+@Slf4j
 public class AzureEventBus {
+    public static final int QUEUE_CAPACITY = 10000;
     @NonNls
-    private static final Map<String, EventBus> buses = new ConcurrentHashMap<>();
+    private static final Map<String, Set<EventListener>> listeners = new ConcurrentHashMap<>();
+    private static final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    /**
+     * queued events without payload by (type, source), for coalescing.
+     */
+    private static final Map<Key, QueuedEvent> pendings = new ConcurrentHashMap<>();
+
+    static {
+        AzureMetrics.gauge("eventbus.queue_depth", AzureEventBus::getQueueDepth);
+    }
 
     public static void on(@Nonnull final String type, @Nonnull EventListener listener) {
-        getBus(type).register(listener);
+        listeners.computeIfAbsent(type, t -> new CopyOnWriteArraySet<>()).add(listener);
     }
 
     public static void off(@Nonnull final String type, @Nonnull EventListener listener) {
-        getBus(type).unregister(listener);
+        Optional.ofNullable(listeners.get(type)).ifPresent(l -> l.remove(listener));
     }
 
     public static void once(@Nonnull final String type, @Nonnull BiConsumer<Object, Object> listener) {
-        final EventBus bus = getBus(type);
         final EventListener[] listeners = new EventListener[1];
         listeners[0] = new EventListener((e) -> {
+            off(type, listeners[0]);
             listener.accept(e.getSource(), e.getPayload());
-            bus.unregister(listeners[0]);
         });
-        bus.register(listeners[0]);
+        on(type, listeners[0]);
     }
 
     public static void emit(@Nonnull final String type) {
@@ -53,11 +74,49 @@ public class AzureEventBus {
     }
 
     public static <T> void emit(@Nonnull final String type, @Nonnull AzureEvent event) {
-        getBus(type).post(event);
+        if (!hasListeners(type)) {
+            return;
+        }
+        final Key key = Objects.isNull(event.getPayload()) ? new Key(type, event.getSource()) : null;
+        final QueuedEvent queued = new QueuedEvent(type, event, key);
+        if (Objects.nonNull(key) && Objects.nonNull(pendings.putIfAbsent(key, queued))) {
+            AzureMetrics.counter("eventbus.coalesced").increment();
+            return;
+        }
+        lanes.computeIfAbsent(type, t -> new Lane()).offer(queued);
+    }
+
+    /**
+     * @return true if there are listeners of {@code type}, emitters may skip preparing events otherwise.
+     */
+    public static boolean hasListeners(@Nonnull final String type) {
+        final Set<EventListener> typeListeners = listeners.get(type);
+        return Objects.nonNull(typeListeners) && !typeListeners.isEmpty();
+    }
+
+    /**
+     * @return number of events waiting to be dispatched.
+     */
+    public static int getQueueDepth() {
+        int depth = 0;
+        for (final Lane lane : lanes.values()) {
+            depth += lane.depth.get();
+        }
+        return depth;
     }
 
-    private static EventBus getBus(String eventType) {
-        return buses.computeIfAbsent(eventType, (e) -> new AsyncEventBus(command -> Schedulers.boundedElastic().schedule(command)));
+    private static void dispatch(@Nonnull QueuedEvent queued) {
+        final Set<EventListener> typeListeners = listeners.get(queued.type);
+        if (Objects.isNull(typeListeners)) {
+            return;
+        }
+        for (final EventListener listener : typeListeners) {
+            try {
+                listener.onEvent(queued.event);
+            } catch (final Throwable t) {
+                log.warn("error occurs on handling event({})", queued.type, t);
+            }
+        }
     }
 
     @RequiredArgsConstructor
@@ -66,12 +125,87 @@ public class AzureEventBus {
         @Nonnull
         private final Consumer<AzureEvent> listener;
 
-        @Subscribe
         public void onEvent(@Nonnull AzureEvent event) {
             this.listener.accept(event);
         }
     }
 
+    /**
+     * queue of events of a type, drained by at most one pooled thread at a time.
+     */
+    private static class Lane {
+        private final Queue<QueuedEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private void offer(@Nonnull QueuedEvent queued) {
+            if (this.depth.incrementAndGet() > QUEUE_CAPACITY) { // backpressure: drop the oldest, so that the order is kept.
+                Optional.ofNullable(this.poll()).ifPresent(dropped -> {
+                    log.debug("event({}) is dropped, too many events are queued", dropped.type);
+                    AzureMetrics.counter("eventbus.dropped[%s]", dropped.type).increment();
+                });
+            }
+            this.queue.offer(queued);
+            if (this.wip.getAndIncrement() == 0) {
+                AzureTaskExecutor.getExecutor().execute(this::drain);
+            }
+        }
+
+        @Nullable
+        private QueuedEvent poll() {
+            final QueuedEvent queued = this.queue.poll();
+            if (Objects.nonNull(queued)) {
+                this.depth.decrementAndGet();
+                if (Objects.nonNull(queued.key)) { // events emitted from now on are not coalesced into this one.
+                    pendings.remove(queued.key, queued);
+                }
+            }
+            return queued;
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                QueuedEvent queued;
+                while (Objects.nonNull(queued = this.poll())) {
+                    dispatch(queued);
+                }
+                missed = this.wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class QueuedEvent {
+        @Nonnull
+        private final String type;
+        @Nonnull
+        private final AzureEvent event;
+        @Nullable
+        private final Key key;
+    }
+
+    /**
+     * (type, source) of an event, sources are compared by identity.
+     */
+    @RequiredArgsConstructor
+    private static class Key {
+        @Nonnull
+        private final String type;
+        @Nullable
+        private final Object source;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).source == this.source && ((Key) o).type.equals(this.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.type.hashCode() + System.identityHashCode(this.source);
+        }
+    }
+
     @Getter
     @RequiredArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * entry of metrics, records nothing until a {@link MetricsRegistry} (e.g. {@link InMemoryMetricsRegistry}) is registered.
+ */
+public class AzureMetrics {
+    private static final Map<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+    private static volatile MetricsRegistry registry = NoopMetricsRegistry.INSTANCE;
+
+    /**
+     * replace the current registry, gauges registered so far are re-registered into the new one.
+     */
+    public static synchronized void register(@Nonnull MetricsRegistry registry) {
+        gauges.forEach(registry::gauge);
+        AzureMetrics.registry = registry;
+    }
+
+    @Nonnull
+    public static MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * @return false if nothing is recorded (no registry is registered), so that hot paths can skip computing metric names.
+     */
+    public static boolean isEnabled() {
+        return registry != NoopMetricsRegistry.INSTANCE;
+    }
+
+    @Nonnull
+    public static MetricsRegistry.Counter counter(@Nonnull String name) {
+        return registry.counter(name);
+    }
+
+    /**
+     * @param pattern name pattern with a single {@code %s}, e.g. {@code cache.hit[%s]}, formatted only if {@link #isEnabled() enabled}.
+     */
+    @Nonnull
+    public static MetricsRegistry.Counter counter(@Nonnull String pattern, @Nullable Object arg) {
+        final MetricsRegistry registry = AzureMetrics.registry;
+        return registry == NoopMetricsRegistry.INSTANCE ? registry.counter(pattern) : registry.counter(String.format(pattern, arg));
+    }
+
+    @Nonnull
+    public static MetricsRegistry.Timer timer(@Nonnull String name) {
+        return registry.timer(name);
+    }
+
+    /**
+     * @param pattern name pattern with a single {@code %s}, e.g. {@code cache.load[%s]}, formatted only if {@link #isEnabled() enabled}.
+     */
+    @Nonnull
+    public static MetricsRegistry.Timer timer(@Nonnull String pattern, @Nullable Object arg) {
+        final MetricsRegistry registry = AzureMetrics.registry;
+        return registry == NoopMetricsRegistry.INSTANCE ? registry.timer(pattern) : registry.timer(String.format(pattern, arg));
+    }
+
+    public static synchronized void gauge(@Nonnull String name, @Nonnull Supplier<? extends Number> value) {
+        gauges.put(name, value);
+        registry.gauge(name, value);
+    }
+}
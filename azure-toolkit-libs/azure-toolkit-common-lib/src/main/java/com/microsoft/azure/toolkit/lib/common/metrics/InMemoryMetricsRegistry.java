@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * registry keeping all metrics in memory for the lifetime of the process, e.g. to be dumped at the end of a run.
+ */
+public class InMemoryMetricsRegistry implements MetricsRegistry {
+    private final Map<String, InMemoryCounter> counters = new ConcurrentHashMap<>();
+    private final Map<String, InMemoryTimer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+
+    @Nonnull
+    @Override
+    public Counter counter(@Nonnull String name) {
+        return this.counters.computeIfAbsent(name, n -> new InMemoryCounter());
+    }
+
+    @Nonnull
+    @Override
+    public Timer timer(@Nonnull String name) {
+        return this.timers.computeIfAbsent(name, n -> new InMemoryTimer());
+    }
+
+    @Override
+    public void gauge(@Nonnull String name, @Nonnull Supplier<? extends Number> value) {
+        this.gauges.put(name, value);
+    }
+
+    @Override
+    public void dump(@Nonnull Consumer<String> printer) {
+        final Map<String, String> lines = new TreeMap<>();
+        this.counters.forEach((name, counter) -> lines.put(name, String.format("%s: count=%d", name, counter.getCount())));
+        this.timers.forEach((name, timer) -> lines.put(name, String.format("%s: count=%d, total=%dms, max=%dms", name, timer.getCount(),
+            timer.getTotalTime(TimeUnit.MILLISECONDS), timer.getMaxTime(TimeUnit.MILLISECONDS))));
+        this.gauges.forEach((name, gauge) -> lines.put(name, String.format("%s: value=%s", name, gauge.get())));
+        lines.values().forEach(printer);
+    }
+
+    private static class InMemoryCounter implements Counter {
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public void increment(long amount) {
+            this.count.add(amount);
+        }
+
+        @Override
+        public long getCount() {
+            return this.count.sum();
+        }
+    }
+
+    private static class InMemoryTimer implements Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder(); // in nanoseconds
+        private final AtomicLong max = new AtomicLong(); // in nanoseconds
+
+        @Override
+        public void record(long duration, @Nonnull TimeUnit unit) {
+            final long nanos = unit.toNanos(duration);
+            this.count.increment();
+            this.total.add(nanos);
+            this.max.accumulateAndGet(nanos, Math::max);
+        }
+
+        @Override
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        @Override
+        public long getTotalTime(@Nonnull TimeUnit unit) {
+            return unit.convert(this.total.sum(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public long getMaxTime(@Nonnull TimeUnit unit) {
+            return unit.convert(this.max.get(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
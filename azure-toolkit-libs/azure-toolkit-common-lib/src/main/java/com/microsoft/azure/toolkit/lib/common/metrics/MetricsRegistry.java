@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * SPI of metrics, registered through {@link AzureMetrics#register(MetricsRegistry)}.
+ * metrics are identified by name, e.g. {@code cache.hit[subscriptions/{}/regions]}, the same metric is returned for the same name.
+ */
+public interface MetricsRegistry {
+    @Nonnull
+    Counter counter(@Nonnull String name);
+
+    @Nonnull
+    Timer timer(@Nonnull String name);
+
+    /**
+     * register a gauge whose value is sampled by {@code value} on reading, a gauge of the same name is replaced.
+     */
+    void gauge(@Nonnull String name, @Nonnull Supplier<? extends Number> value);
+
+    /**
+     * print all metrics line by line, e.g. at the end of a run.
+     */
+    void dump(@Nonnull Consumer<String> printer);
+
+    interface Counter {
+        default void increment() {
+            this.increment(1);
+        }
+
+        void increment(long amount);
+
+        long getCount();
+    }
+
+    interface Timer {
+        void record(long duration, @Nonnull TimeUnit unit);
+
+        long getCount();
+
+        /**
+         * @return total recorded time in {@code unit}.
+         */
+        long getTotalTime(@Nonnull TimeUnit unit);
+
+        /**
+         * @return max recorded time in {@code unit}.
+         */
+        long getMaxTime(@Nonnull TimeUnit unit);
+    }
+}
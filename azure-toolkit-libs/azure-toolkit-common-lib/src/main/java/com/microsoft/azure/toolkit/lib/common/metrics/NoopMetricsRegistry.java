@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * default registry that records nothing.
+ */
+public final class NoopMetricsRegistry implements MetricsRegistry {
+    public static final NoopMetricsRegistry INSTANCE = new NoopMetricsRegistry();
+
+    private static final Counter COUNTER = new Counter() {
+        @Override
+        public void increment(long amount) {
+        }
+
+        @Override
+        public long getCount() {
+            return 0;
+        }
+    };
+
+    private static final Timer TIMER = new Timer() {
+        @Override
+        public void record(long duration, @Nonnull TimeUnit unit) {
+        }
+
+        @Override
+        public long getCount() {
+            return 0;
+        }
+
+        @Override
+        public long getTotalTime(@Nonnull TimeUnit unit) {
+            return 0;
+        }
+
+        @Override
+        public long getMaxTime(@Nonnull TimeUnit unit) {
+            return 0;
+        }
+    };
+
+    private NoopMetricsRegistry() {
+    }
+
+    @Nonnull
+    @Override
+    public Counter counter(@Nonnull String name) {
+        return COUNTER;
+    }
+
+    @Nonnull
+    @Override
+    public Timer timer(@Nonnull String name) {
+        return TIMER;
+    }
+
+    @Override
+    public void gauge(@Nonnull String name, @Nonnull Supplier<? extends Number> value) {
+    }
+
+    @Override
+    public void dump(@Nonnull Consumer<String> printer) {
+    }
+}
@@ -16,7 +16,9 @@ import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import com.microsoft.azure.toolkit.lib.common.utils.Debouncer;
+import com.microsoft.azure.toolkit.lib.common.utils.SingleFlight;
 import com.microsoft.azure.toolkit.lib.common.utils.TailingDebouncer;
 import com.microsoft.azure.toolkit.lib.resource.AzureResources;
 import com.microsoft.azure.toolkit.lib.resource.GenericResourceModule;
@@ -37,13 +39,25 @@ import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @ToString(onlyExplicitlyIncluded = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>, P extends AbstractAzResource<P, ?, ?>, R> implements AzResource<T, P, R> {
+    /**
+     * in-flight reloadings of remotes (by resource instance), concurrent {@link #getRemote(boolean...)} of the same
+     * resource wait for the same reloading instead of waiting for the lock and checking again.
+     */
+    private static final SingleFlight<Object, Void> reloadings = new SingleFlight<>("resource.reload");
+    private static final String STATUS_CHANGED = "resource.status_changed.resource";
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AbstractAzResource, Debouncer> FIRE_EVENTS =
+        AtomicReferenceFieldUpdater.newUpdater(AbstractAzResource.class, Debouncer.class, "fireEvents");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AbstractAzResource, ReentrantLock> LOCK =
+        AtomicReferenceFieldUpdater.newUpdater(AbstractAzResource.class, ReentrantLock.class, "lock");
     @Nonnull
     @Getter
     @ToString.Include
@@ -66,9 +80,11 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
     @Nonnull
     @ToString.Include
     private final AtomicReference<String> statusRef;
-    @Nonnull
-    private final Debouncer fireEvents = new TailingDebouncer(this::fireStatusChangedEvent, 300);
-    private final Lock lock = new ReentrantLock();
+    // created on first use, most cached resources are never modified/reloaded.
+    @Nullable
+    private volatile Debouncer fireEvents;
+    @Nullable
+    private volatile ReentrantLock lock;
 
     protected AbstractAzResource(@Nonnull String name, @Nonnull String resourceGroupName, @Nonnull AbstractAzResourceModule<T, P, R> module) {
         this.name = name;
@@ -121,12 +137,13 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
 
     public void invalidateCache() {
         log.debug("[{}]:invalidateCache()", this.name);
-        if (this.lock.tryLock()) {
+        final ReentrantLock lock = this.lock; // not created yet if never modified/reloaded, don't create it just for this.
+        if (Objects.isNull(lock) || lock.tryLock()) {
             try {
                 // this.remoteRef.set(null); will make a newly created resource behave as a "draft for creating"(since isDraftForCreating() will return true)
                 this.syncTimeRef.set(-1);
             } finally {
-                this.lock.unlock();
+                Optional.ofNullable(lock).ifPresent(ReentrantLock::unlock);
             }
         }
         log.debug("[{}:{}]:invalidateCache->subModules.invalidateCache()", this.module.getName(), this.getName());
@@ -143,10 +160,10 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
         }
         if (sync.length > 0 && sync[0]) {
             try {
-                this.lock.lock();
+                this.getLock().lock();
                 return this.getRemoteInner();
             } finally {
-                this.lock.unlock();
+                this.getLock().unlock();
             }
         } else {
             return this.getRemoteInner();
@@ -154,24 +171,72 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
     }
 
     private R getRemoteInner() {
-        if (System.currentTimeMillis() - this.syncTimeRef.get() > AzResource.CACHE_LIFETIME) { // 0, -1 or too old.
+        final CachePolicy policy = this.module.getCachePolicy();
+        final long syncTime = this.syncTimeRef.get();
+        final long now = System.currentTimeMillis();
+        if (now - syncTime > policy.getLifetime()) { // 0, -1 or too old.
             final R remote = this.remoteRef.get();
-            if (this.syncTimeRef.get() == 0 && Objects.nonNull(remote)) {
+            if (syncTime == 0 && Objects.nonNull(remote)) {
                 return remote;
             }
-            try {
-                this.lock.lock();
-                if (this.syncTimeRef.get() != 0 && System.currentTimeMillis() - this.syncTimeRef.get() > AzResource.CACHE_LIFETIME) { // -1 or too old.
-                    log.debug("[{}:{}]:getRemote->reloadRemote()", this.module.getName(), this.getName());
-                    this.reloadRemote();
-                }
-            } finally {
-                this.lock.unlock();
+            if (Objects.nonNull(remote) && policy.isServableStale(syncTime, now) && Objects.nonNull(AzureTaskManager.getInstance())
+                && this.syncTimeRef.compareAndSet(syncTime, now)) { // only the first caller triggers revalidation, others keep serving stale
+                log.debug("[{}:{}]:getRemote->revalidateRemote()", this.module.getName(), this.getName());
+                this.revalidateRemote();
+                return remote;
+            }
+            if (this.getLock().isHeldByCurrentThread()) { // e.g. getRemote(true), never wait for a flight that waits for this thread.
+                this.reloadRemoteIfOutdated(policy);
+            } else {
+                reloadings.execute(SingleFlight.owned(this, this.getId().toLowerCase()), () -> {
+                    this.reloadRemoteIfOutdated(policy);
+                    return null;
+                });
             }
         }
         return this.remoteRef.get();
     }
 
+    private void reloadRemoteIfOutdated(@Nonnull CachePolicy policy) {
+        try {
+            this.getLock().lock();
+            if (this.syncTimeRef.get() != 0 && System.currentTimeMillis() - this.syncTimeRef.get() > policy.getLifetime()) { // -1 or too old.
+                log.debug("[{}:{}]:getRemote->reloadRemote()", this.module.getName(), this.getName());
+                this.reloadRemote();
+            }
+        } finally {
+            this.getLock().unlock();
+        }
+    }
+
+    /**
+     * reload remote in background while the stale remote is still served.
+     * {@link #syncTimeRef} is expected to be marked as fresh by caller to keep other callers from blocking/revalidating.
+     */
+    private void revalidateRemote() {
+        AzureTaskManager.getInstance().runOnPooledThread(() -> {
+            try {
+                // callers blocking on reloading during revalidation (e.g. on invalidation) join this flight.
+                reloadings.execute(SingleFlight.owned(this, this.getId().toLowerCase()), () -> {
+                    if (!this.getLock().tryLock()) { // being modified/reloaded by others, which will refresh the remote.
+                        this.getLock().lock(); // still wait for it, so that callers joined this flight get the refreshed remote.
+                        this.getLock().unlock();
+                        return null;
+                    }
+                    try {
+                        this.reloadRemote();
+                    } finally {
+                        this.getLock().unlock();
+                    }
+                    return null;
+                });
+            } catch (Exception e) {
+                // cache has been invalidated by `doModify` on failure, so that next caller will reload and get the error.
+                log.debug("[{}:{}]:revalidateRemote->reloadRemote()=EXCEPTION", this.module.getName(), this.getName(), e);
+            }
+        });
+    }
+
     @AzureOperation(name = "resource.reload.resource|type", params = {"this.getName()", "this.getResourceTypeName()"}, type = AzureOperation.Type.SERVICE)
     private void reloadRemote() {
         log.debug("[{}:{}]:reloadRemote()", this.module.getName(), this.getName());
@@ -197,7 +262,9 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
             log.debug("[{}:{}]:setRemote->subModules.invalidateCache()", this.module.getName(), this.getName());
             this.getSubModules().forEach(AbstractAzResourceModule::invalidateCache);
         }
-        if (this.lock.tryLock()) {
+        // lock is not created for resources only ever listed, a modification starting meanwhile sets its own remote when it's done.
+        final ReentrantLock lock = this.lock;
+        if (Objects.isNull(lock) || lock.tryLock()) {
             try {
                 log.debug("[{}:{}]:setRemote->this.remoteRef.set({})", this.module.getName(), this.getName(), newRemote);
                 this.remoteRef.set(newRemote);
@@ -215,7 +282,7 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
                     this.getSubModules().stream().flatMap(m -> m.listCachedResources().stream()).forEach(r -> r.setRemote(null));
                 }
             } finally {
-                this.lock.unlock();
+                Optional.ofNullable(lock).ifPresent(ReentrantLock::unlock);
             }
         }
     }
@@ -329,7 +396,9 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
             final String oldStatus = this.statusRef.get();
             if (!Objects.equals(oldStatus, status)) {
                 this.statusRef.set(status);
-                fireEvents.debounce();
+                if (Objects.nonNull(this.fireEvents) || AzureEventBus.hasListeners(STATUS_CHANGED)) { // no debouncer if nobody listens.
+                    this.getFireEvents().debounce();
+                }
                 if (StringUtils.equalsAny(status, Status.DELETING, Status.DELETED)) {
                     this.getSubModules().stream().flatMap(m -> m.listCachedResources().stream()).forEach(r -> r.setStatus(status));
                 }
@@ -337,6 +406,26 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
         }
     }
 
+    @Nonnull
+    private Debouncer getFireEvents() {
+        if (Objects.isNull(this.fireEvents)) {
+            FIRE_EVENTS.compareAndSet(this, null, new TailingDebouncer(this::fireStatusChangedEvent, 300));
+        }
+        return Objects.requireNonNull(this.fireEvents);
+    }
+
+    @Nonnull
+    private ReentrantLock getLock() {
+        if (Objects.isNull(this.lock)) {
+            LOCK.compareAndSet(this, null, new ReentrantLock());
+        }
+        return Objects.requireNonNull(this.lock);
+    }
+
+    long getSyncTime() {
+        return this.syncTimeRef.get();
+    }
+
     @Nonnull
     public String getStatus() {
         if (this.syncTimeRef.get() == -1) {
@@ -347,7 +436,7 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
     }
 
     protected void doModify(@Nonnull Runnable body, @Nullable String status) {
-        if (this.lock.tryLock()) {
+        if (this.getLock().tryLock()) {
             try {
                 this.syncTimeRef.set(0);
                 this.setStatus(Optional.ofNullable(status).orElse(Status.PENDING));
@@ -362,7 +451,7 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
                 this.syncTimeRef.compareAndSet(0, -1);
                 throw t;
             } finally {
-                this.lock.unlock();
+                this.getLock().unlock();
             }
         } else {
             AzureMessager.getMessager().warning(AzureString.format("%s (%s) is %s, please wait until it's finished.", this.getResourceTypeName(), this.getName(), this.getStatus()));
@@ -371,9 +460,9 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
 
     @Nullable
     public R doModify(@Nonnull Callable<R> body, @Nullable String status) {
-        if (!this.lock.tryLock()) {
+        if (!this.getLock().tryLock()) {
             AzureMessager.getMessager().warning(AzureString.format("%s (%s) is %s, waiting until it's finished.", this.getResourceTypeName(), this.getName(), this.getStatus()));
-            this.lock.lock();
+            this.getLock().lock();
         }
         try {
             this.syncTimeRef.set(0);
@@ -388,13 +477,13 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
             this.syncTimeRef.compareAndSet(0, -1);
             throw new AzureToolkitRuntimeException(t);
         } finally {
-            this.lock.unlock();
+            this.getLock().unlock();
         }
     }
 
     private void fireStatusChangedEvent() {
         log.debug("[{}]:fireStatusChangedEvent()", this.getName());
-        AzureEventBus.emit("resource.status_changed.resource", this);
+        AzureEventBus.emit(STATUS_CHANGED, this);
     }
 
     @Nonnull
@@ -10,6 +10,7 @@ import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
 import com.azure.resourcemanager.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.azure.resourcemanager.resources.fluentcore.arm.collection.SupportsGettingByName;
 import com.azure.resourcemanager.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
+import com.azure.resourcemanager.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
 import com.azure.resourcemanager.resources.fluentcore.collection.SupportsDeletingById;
 import com.azure.resourcemanager.resources.fluentcore.collection.SupportsListing;
 import com.google.common.collect.Sets;
@@ -19,9 +20,12 @@ import com.microsoft.azure.toolkit.lib.account.IAzureAccount;
 import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.common.task.AzureIoExecutor;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import com.microsoft.azure.toolkit.lib.common.utils.Debouncer;
+import com.microsoft.azure.toolkit.lib.common.utils.SingleFlight;
 import com.microsoft.azure.toolkit.lib.common.utils.TailingDebouncer;
 import com.microsoft.azure.toolkit.lib.resource.GenericResource;
 import com.microsoft.azure.toolkit.lib.resource.GenericResourceModule;
@@ -30,23 +34,31 @@ import com.microsoft.azure.toolkit.lib.resource.ResourceGroupModule;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.http.HttpStatus;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -60,6 +72,37 @@ import static com.microsoft.azure.toolkit.lib.common.model.AzResource.RESOURCE_G
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P, R>, P extends AbstractAzResource<P, ?, ?>, R>
     implements AzResourceModule<T, P, R> {
+    /**
+     * in-flight loadings of single resources (by module instance and lower-cased id), concurrent {@link #get(String, String)}
+     * of the same resource wait for the same loading instead of calling Azure again.
+     */
+    private static final SingleFlight<Object, Void> loadings = new SingleFlight<>("resource.load");
+    // field updaters instead of atomics/locks per instance, large listings have tens of thousands of (sub)modules.
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<AbstractAzResourceModule> MEMBERSHIP_VERSION =
+        AtomicLongFieldUpdater.newUpdater(AbstractAzResourceModule.class, "membershipVersion");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<AbstractAzResourceModule> INVALIDATION_VERSION =
+        AtomicLongFieldUpdater.newUpdater(AbstractAzResourceModule.class, "invalidationVersion");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<AbstractAzResourceModule> SNAPSHOT_LOADED =
+        AtomicIntegerFieldUpdater.newUpdater(AbstractAzResourceModule.class, "snapshotLoaded");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<AbstractAzResourceModule> REVALIDATING =
+        AtomicIntegerFieldUpdater.newUpdater(AbstractAzResourceModule.class, "revalidating");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AbstractAzResourceModule, Map> MISS_TIMES =
+        AtomicReferenceFieldUpdater.newUpdater(AbstractAzResourceModule.class, Map.class, "missTimes");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AbstractAzResourceModule, Debouncer> FIRE_EVENTS =
+        AtomicReferenceFieldUpdater.newUpdater(AbstractAzResourceModule.class, Debouncer.class, "fireEvents");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AbstractAzResourceModule, Lock> LOCK =
+        AtomicReferenceFieldUpdater.newUpdater(AbstractAzResourceModule.class, Lock.class, "lock");
+    /**
+     * min number of missing resources in a resource group to load them by listing the resource group in {@link #getAll(Collection)}.
+     */
+    private static final int BULK_LISTING_THRESHOLD = 3;
     @Getter
     @Nonnull
     @ToString.Include
@@ -72,12 +115,46 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     @Nonnull
     @ToString.Include
     private final AtomicLong syncTimeRef = new AtomicLong(-1);
+    /**
+     * time of the last listing actually loaded from Azure, -1 if there is none or it's invalidated. unlike {@link #syncTimeRef},
+     * it's never set by snapshot warm-up, so absence of resources can only be inferred from it.
+     */
+    private volatile long listedTime = -1;
     @Nonnull
-    private final Map<String, Optional<T>> resources = Collections.synchronizedMap(new CaseInsensitiveMap<>());
-
+    private final Map<String, Optional<T>> resources = new ConcurrentHashMap<>(); // keyed by lower-cased resource id
+    /**
+     * time when the negative (i.e. {@code Optional.empty()}) entries of {@link #resources} are cached, created on first miss.
+     */
+    @Nullable
+    private volatile Map<String, Long> missTimes;
+    /**
+     * bumped after every membership change of present {@link #resources}.
+     */
+    private volatile long membershipVersion;
+    /**
+     * bumped on every {@link #invalidateCache()}, a reload started before an invalidation won't mark the listing as fresh.
+     */
+    private volatile long invalidationVersion;
+    /**
+     * immutable sorted view of present {@link #resources}, rebuilt lazily if its version is older than {@link #membershipVersion}.
+     */
+    @Nullable
+    private volatile Listing<T> listing;
+    private volatile int snapshotLoaded;
+    /**
+     * 1 while {@link #revalidateResources()} is in progress, callers keep getting the cached listing instead of reloading it.
+     */
+    private volatile int revalidating;
+    @Getter
+    @Setter
     @Nonnull
-    private final Debouncer fireEvents = new TailingDebouncer(this::fireChildrenChangedEvent, 300);
-    private final Lock lock = new ReentrantLock();
+    private CachePolicy cachePolicy = CachePolicy.DEFAULT;
+
+    // created on first use, most (sub)modules are never listed/modified.
+    @Nullable
+    private volatile Debouncer fireEvents;
+    @Nullable
+    private volatile Lock lock;
 
     @Override
     @AzureOperation(name = "resource.refresh.type", params = {"this.getResourceTypeName()"}, type = AzureOperation.Type.SERVICE)
@@ -89,14 +166,12 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
 
     void invalidateCache() {
         log.debug("[{}]:invalidateCache()", this.name);
-        if (this.lock.tryLock()) {
-            try {
-                this.resources.entrySet().removeIf(e -> !e.getValue().isPresent());
-                this.syncTimeRef.set(-1);
-            } finally {
-                this.lock.unlock();
-            }
-        }
+        // no lock here: a reload in progress checks `invalidationVersion` when it's done, so this invalidation won't get lost.
+        INVALIDATION_VERSION.incrementAndGet(this);
+        this.resources.entrySet().removeIf(e -> !e.getValue().isPresent());
+        Optional.ofNullable(this.missTimes).ifPresent(Map::clear);
+        this.syncTimeRef.set(-1);
+        this.listedTime = -1;
         log.debug("[{}]:invalidateCache->resources.invalidateCache()", this.name);
         this.resources.values().forEach(v -> v.ifPresent(AbstractAzResource::invalidateCache));
     }
@@ -110,48 +185,142 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
             log.debug("[{}]:list->parent.isDraftForCreating()=true", this.name);
             return Collections.emptyList();
         }
-        if (System.currentTimeMillis() - this.syncTimeRef.get() > AzResource.CACHE_LIFETIME) { // 0, -1 or too old.
+        final CachePolicy policy = this.getCachePolicy();
+        if (this.syncTimeRef.get() == -1 && this.loadResourcesFromSnapshot()
+            && !policy.isFresh(this.syncTimeRef.get(), System.currentTimeMillis())) { // served until revalidated, however old it is.
+            log.debug("[{}]:list->this.revalidateResources()", this.name);
+            this.revalidateResources();
+        }
+        final long syncTime = this.syncTimeRef.get();
+        final long now = System.currentTimeMillis();
+        if (!policy.isFresh(syncTime, now) && policy.isServableStale(syncTime, now) && Objects.nonNull(AzureTaskManager.getInstance())) {
+            // only the first caller triggers revalidation, others keep serving stale until it's done.
+            log.debug("[{}]:list->this.revalidateResources()", this.name);
+            this.revalidateResources();
+        }
+        final boolean serving = this.revalidating == 1 && this.syncTimeRef.get() > 0; // not invalidated while revalidating.
+        if (!serving && System.currentTimeMillis() - this.syncTimeRef.get() > policy.getLifetime()) { // 0, -1 or too old.
             try {
-                this.lock.lock();
-                if (this.syncTimeRef.get() != 0 && System.currentTimeMillis() - this.syncTimeRef.get() > AzResource.CACHE_LIFETIME) {// -1 or too old.
+                this.getLock().lock();
+                if (this.syncTimeRef.get() != 0 && System.currentTimeMillis() - this.syncTimeRef.get() > policy.getLifetime()) {// -1 or too old.
                     log.debug("[{}]:list->this.reload()", this.name);
                     this.reloadResources();
                 }
             } finally {
-                this.lock.unlock();
+                this.getLock().unlock();
             }
         }
         log.debug("[{}]:list->this.resources.values()", this.name);
-        return this.resources.values().stream().filter(Optional::isPresent).map(Optional::get)
-            .sorted(Comparator.comparing(AbstractAzResource::getName)).collect(Collectors.toList());
+        return this.getListing().sorted;
+    }
+
+    @Nonnull
+    private Listing<T> getListing() {
+        // version is read before the resources are, so a listing missing a concurrent change is always detected as outdated.
+        final long version = this.membershipVersion;
+        final Listing<T> current = this.listing;
+        if (Objects.nonNull(current) && current.version == version) {
+            return current;
+        }
+        final Listing<T> built = new Listing<>(version, this.resources.values());
+        this.listing = built;
+        return built;
     }
 
     private void reloadResources() {
         log.debug("[{}]:reloadResources()", this.name);
+        final long invalidation = this.invalidationVersion;
         this.syncTimeRef.set(0);
         try {
             log.debug("[{}]:reloadResources->loadResourcesFromAzure()", this.name);
-            final Map<String, R> loadedResources = this.loadResourcesFromAzure()
-                .collect(Collectors.toMap(r -> this.newResource(r).getId().toLowerCase(), r -> r));
+            final Map<String, R> loadedResources = this.loadAllResourcesFromAzure();
             log.debug("[{}]:reloadResources->setResources(xxx)", this.name);
-            this.setResources(loadedResources);
+            this.setResources(loadedResources, invalidation);
         } catch (Exception e) {
             log.debug("[{}]:reloadResources->setResources([])", this.name);
             final Throwable cause = e instanceof ManagementException ? e : ExceptionUtils.getRootCause(e);
             if (cause instanceof ManagementException && HttpStatus.SC_NOT_FOUND == ((ManagementException) cause).getResponse().getStatusCode()) {
                 log.debug("[{}]:reloadResources->loadResourceFromAzure()=SC_NOT_FOUND", this.name, e);
-                this.setResources(Collections.emptyMap());
+                this.setResources(Collections.emptyMap(), invalidation);
             } else {
                 log.debug("[{}]:reloadResources->loadResourcesFromAzure()=EXCEPTION", this.name, e);
                 this.resources.clear();
+                MEMBERSHIP_VERSION.incrementAndGet(this);
                 this.syncTimeRef.compareAndSet(0, -1);
+                this.listedTime = -1;
                 AzureMessager.getMessager().error(e);
                 throw e;
             }
         }
     }
 
-    private void setResources(Map<String, R> loadedResources) {
+    /**
+     * @return remotes of all resources by lower-cased id, the time taken is recorded as metric {@code module.reload[<full resource type>]}.
+     */
+    @Nonnull
+    private Map<String, R> loadAllResourcesFromAzure() {
+        final long start = System.nanoTime();
+        try {
+            return this.loadResourcesFromAzure().collect(Collectors.toMap(r -> this.newResource(r).getId().toLowerCase(), r -> r));
+        } finally {
+            if (AzureMetrics.isEnabled()) { // skip computing the full resource type
+                AzureMetrics.timer("module.reload[%s]", this.getFullResourceType()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * warm up the (empty) module from the persisted {@link AzResourceSnapshot snapshot} if enabled, only once per module.
+     *
+     * @return true if resources are loaded from snapshot.
+     */
+    private boolean loadResourcesFromSnapshot() {
+        if (!AzResourceSnapshot.isEnabled() || !SNAPSHOT_LOADED.compareAndSet(this, 0, 1)) {
+            return false;
+        }
+        final AzResourceSnapshot.Module snapshot = AzResourceSnapshot.load(this);
+        if (Objects.isNull(snapshot) || Objects.isNull(snapshot.getResources())) {
+            return false;
+        }
+        log.debug("[{}]:loadResourcesFromSnapshot()", this.name);
+        snapshot.getResources().forEach(r -> this.addResourceToLocal(r.getId(), this.newResource(r.getName(), r.getResourceGroupName()), true));
+        // the snapshot is as fresh as when it was persisted.
+        return this.syncTimeRef.compareAndSet(-1, snapshot.getSyncTime());
+    }
+
+    /**
+     * reload resources from Azure in background while the cached resources are still served, only one revalidation is in progress.
+     */
+    private void revalidateResources() {
+        final AzureTaskManager m = AzureTaskManager.getInstance();
+        if (Objects.isNull(m)) {
+            this.syncTimeRef.set(-1);
+            return;
+        }
+        if (!REVALIDATING.compareAndSet(this, 0, 1)) {
+            return;
+        }
+        m.runOnPooledThread(() -> {
+            try {
+                this.getLock().lock();
+                final long invalidation = this.invalidationVersion;
+                log.debug("[{}]:revalidateResources->loadResourcesFromAzure()", this.name);
+                final Map<String, R> loadedResources = this.loadAllResourcesFromAzure();
+                this.setResources(loadedResources, invalidation);
+            } catch (Exception e) {
+                log.debug("[{}]:revalidateResources->loadResourcesFromAzure()=EXCEPTION", this.name, e);
+                this.syncTimeRef.set(-1);
+            } finally {
+                REVALIDATING.set(this, 0);
+                this.getLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * @param invalidation value of {@link #invalidationVersion} when loading of {@code loadedResources} started.
+     */
+    private void setResources(Map<String, R> loadedResources, long invalidation) {
         final Set<String> localResources = this.resources.values().stream().filter(Optional::isPresent).map(Optional::get)
             .map(AbstractAzResource::getId).map(String::toLowerCase).collect(Collectors.toSet());
         final Set<String> creating = this.resources.values().stream().filter(Optional::isPresent).map(Optional::get)
@@ -165,32 +334,46 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         final Sets.SetView<String> added = Sets.difference(loadedResources.keySet(), localResources);
         log.debug("[{}]:reload().added={}", this.name, added);
         log.debug("[{}]:reload.deleted->deleteResourceFromLocal", this.name);
-        deleted.forEach(id -> this.resources.get(id).ifPresent(r -> {
+        deleted.forEach(id -> this.resources.getOrDefault(id, Optional.empty()).ifPresent(r -> {
             r.deleteFromCache();
             r.setRemote(null);
         }));
 
-        final AzureTaskManager m = AzureTaskManager.getInstance();
+        final AzureIoExecutor executor = AzureIoExecutor.getInstance();
+        final String task = this.name + ".setRemote";
         log.debug("[{}]:reload.refreshed->resource.setRemote", this.name);
-        refreshed.forEach(id -> this.resources.get(id).ifPresent(r -> m.runOnPooledThread(() -> r.setRemote(loadedResources.get(id)))));
+        refreshed.forEach(id -> this.resources.getOrDefault(id, Optional.empty()).ifPresent(r -> executor.execute(task, () -> r.setRemote(loadedResources.get(id)))));
         log.debug("[{}]:reload.added->addResourceToLocal", this.name);
         added.forEach(id -> {
             final R remote = loadedResources.get(id);
             final T resource = this.newResource(remote);
-            m.runOnPooledThread(() -> resource.setRemote(remote));
+            executor.execute(task, () -> resource.setRemote(remote));
             this.addResourceToLocal(id, resource, true);
         });
-        this.syncTimeRef.set(System.currentTimeMillis());
+        final long now = System.currentTimeMillis();
+        this.syncTimeRef.set(now);
+        this.listedTime = now;
+        if (this.invalidationVersion != invalidation) { // invalidated while loading, checked after marking as fresh.
+            log.debug("[{}]:setResources->invalidated while loading", this.name);
+            this.syncTimeRef.set(-1);
+            this.listedTime = -1;
+        }
+        if (AzResourceSnapshot.isEnabled()) {
+            AzResourceSnapshot.save(this, this.listCachedResources());
+        }
     }
 
     public void clear() {
         log.debug("[{}]:clear()", this.name);
         try {
-            this.lock.lock();
+            this.getLock().lock();
             this.resources.clear();
+            Optional.ofNullable(this.missTimes).ifPresent(Map::clear);
+            MEMBERSHIP_VERSION.incrementAndGet(this);
             this.syncTimeRef.set(-1);
+            this.listedTime = -1;
         } finally {
-            this.lock.unlock();
+            this.getLock().unlock();
         }
     }
 
@@ -205,33 +388,126 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         }
         Azure.az(IAzureAccount.class).account();
         final String id = this.toResourceId(name, resourceGroup).toLowerCase();
-        if (!this.resources.containsKey(id)) {
-            R remote = null;
-            try {
-                log.debug("[{}]:get({}, {})->loadResourceFromAzure()", this.name, name, resourceGroup);
-                remote = loadResourceFromAzure(name, resourceGroup);
-            } catch (Exception e) {
-                log.debug("[{}]:get({}, {})->loadResourceFromAzure()=EXCEPTION", this.name, name, resourceGroup, e);
-                final Throwable cause = e instanceof ManagementException ? e : ExceptionUtils.getRootCause(e);
-                if (cause instanceof ManagementException) {
-                    if (HttpStatus.SC_NOT_FOUND != ((ManagementException) cause).getResponse().getStatusCode()) {
-                        log.debug("[{}]:get({}, {})->loadResourceFromAzure()=SC_NOT_FOUND", this.name, name, resourceGroup, e);
-                        throw e;
-                    }
-                }
+        if (this.isLoadingRequired(id)) {
+            this.loadResource(id, name, resourceGroup);
+        }
+        log.debug("[{}]:get({}, {})->this.resources.get({})", this.name, id, resourceGroup, name);
+        final T result = this.resources.getOrDefault(id, Optional.empty()).orElse(null);
+        this.evictIfExceeded();
+        return result;
+    }
+
+    private boolean isLoadingRequired(@Nonnull String id) {
+        final Optional<T> cached = this.resources.get(id);
+        return Objects.isNull(cached) || (!cached.isPresent() && this.isMissExpired(id));
+    }
+
+    /**
+     * load the resource from Azure into local cache. only one loading per resource is in flight,
+     * concurrent callers of the same resource wait for it while loadings of different resources never block each other.
+     */
+    private void loadResource(@Nonnull String id, @Nonnull String name, @Nonnull String resourceGroup) {
+        loadings.execute(SingleFlight.owned(this, id), () -> {
+            if (this.isLoadingRequired(id)) { // double check, it may have been loaded by a loading just finished.
+                this.doLoadResource(id, name, resourceGroup);
             }
-            if (Objects.isNull(remote)) {
-                log.debug("[{}]:get({}, {})->addResourceToLocal({}, null)", this.name, name, resourceGroup, name);
-                this.addResourceToLocal(id, null, true);
-            } else {
-                final T resource = newResource(remote);
-                resource.setRemote(remote);
-                log.debug("[{}]:get({}, {})->addResourceToLocal({}, resource)", this.name, name, resourceGroup, name);
-                this.addResourceToLocal(resource.getId(), resource, true);
+            return null;
+        });
+    }
+
+    private void doLoadResource(@Nonnull String id, @Nonnull String name, @Nonnull String resourceGroup) {
+        R remote = null;
+        try {
+            log.debug("[{}]:get({}, {})->loadResourceFromAzure()", this.name, name, resourceGroup);
+            remote = loadResourceFromAzure(name, resourceGroup);
+        } catch (Exception e) {
+            log.debug("[{}]:get({}, {})->loadResourceFromAzure()=EXCEPTION", this.name, name, resourceGroup, e);
+            final Throwable cause = e instanceof ManagementException ? e : ExceptionUtils.getRootCause(e);
+            if (cause instanceof ManagementException) {
+                if (HttpStatus.SC_NOT_FOUND != ((ManagementException) cause).getResponse().getStatusCode()) {
+                    log.debug("[{}]:get({}, {})->loadResourceFromAzure()=SC_NOT_FOUND", this.name, name, resourceGroup, e);
+                    throw e;
+                }
             }
         }
-        log.debug("[{}]:get({}, {})->this.resources.get({})", this.name, id, resourceGroup, name);
-        return this.resources.get(id).orElse(null);
+        if (Objects.isNull(remote)) {
+            log.debug("[{}]:get({}, {})->addResourceToLocal({}, null)", this.name, name, resourceGroup, name);
+            this.addResourceToLocal(id, null, true);
+        } else {
+            final T resource = newResource(remote);
+            resource.setRemote(remote);
+            log.debug("[{}]:get({}, {})->addResourceToLocal({}, resource)", this.name, name, resourceGroup, name);
+            this.addResourceToLocal(resource.getId(), resource, true);
+        }
+    }
+
+    private long getMissTime(@Nonnull String id) {
+        final Map<String, Long> times = this.missTimes;
+        return Objects.isNull(times) ? -1L : times.getOrDefault(id, -1L);
+    }
+
+    @Nonnull
+    private Map<String, Long> getMissTimes() {
+        if (Objects.isNull(this.missTimes)) {
+            MISS_TIMES.compareAndSet(this, null, new ConcurrentHashMap<String, Long>());
+        }
+        return Objects.requireNonNull(this.missTimes);
+    }
+
+    private void removeMissTime(@Nonnull String id) {
+        final Map<String, Long> times = this.missTimes;
+        if (Objects.nonNull(times)) {
+            times.remove(id);
+        }
+    }
+
+    @Nonnull
+    private Debouncer getFireEvents() {
+        if (Objects.isNull(this.fireEvents)) {
+            FIRE_EVENTS.compareAndSet(this, null, new TailingDebouncer(this::fireChildrenChangedEvent, 300));
+        }
+        return Objects.requireNonNull(this.fireEvents);
+    }
+
+    @Nonnull
+    private Lock getLock() {
+        if (Objects.isNull(this.lock)) {
+            LOCK.compareAndSet(this, null, new ReentrantLock());
+        }
+        return Objects.requireNonNull(this.lock);
+    }
+
+    private boolean isMissExpired(@Nonnull String id) {
+        final long missTime = this.getMissTime(id);
+        return System.currentTimeMillis() - missTime > this.getCachePolicy().getNegativeLifetime();
+    }
+
+    /**
+     * evict cached entries of this module if there are more than {@link CachePolicy#getMaxEntries()}:
+     * negative entries first (oldest first), then the least recently synced resources that are not being created/loaded.
+     * resources are never evicted while the module holds a listing (loading, fresh or stale), the listing is kept entirely.
+     */
+    private void evictIfExceeded() {
+        final int maxEntries = this.getCachePolicy().getMaxEntries();
+        if (this.resources.size() <= maxEntries) {
+            return;
+        }
+        final int exceeded = this.resources.size() - maxEntries;
+        final Stream<String> misses = this.resources.entrySet().stream().filter(e -> !e.getValue().isPresent()).map(Map.Entry::getKey)
+            .sorted(Comparator.comparing(id -> this.getMissTime(id)));
+        final Stream<String> present = this.syncTimeRef.get() != -1 ? Stream.empty() : this.resources.entrySet().stream()
+            .filter(e -> e.getValue().isPresent())
+            .filter(e -> !e.getValue().get().isDraftForCreating() && e.getValue().get().getSyncTime() != 0)
+            .sorted(Comparator.comparing(e -> e.getValue().get().getSyncTime())).map(Map.Entry::getKey);
+        final List<String> evicted = Stream.concat(misses, present).limit(exceeded).collect(Collectors.toList());
+        evicted.forEach(id -> {
+            final Optional<T> removed = this.resources.remove(id);
+            this.removeMissTime(id);
+            if (Objects.nonNull(removed) && removed.isPresent()) {
+                MEMBERSHIP_VERSION.incrementAndGet(this);
+            }
+        });
+        log.debug("[{}]:evictIfExceeded()={}", this.name, evicted);
     }
 
     @Nullable
@@ -241,6 +517,98 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         return this.get(id.name(), id.resourceGroupName());
     }
 
+    /**
+     * get resources by ids in one pass: resources missing in local cache are loaded by listing their resource group (or this module)
+     * when it's cheaper than getting them one by one, the rest are got concurrently by {@link AzureIoExecutor}.
+     *
+     * @return existing resources in the order of {@code resourceIds}, nonexistent ones are skipped.
+     */
+    @Nonnull
+    @Override
+    public List<T> getAll(@Nonnull Collection<String> resourceIds) {
+        log.debug("[{}]:getAll({})", this.name, resourceIds);
+        if (resourceIds.isEmpty() || this.parent.isDraftForCreating()) {
+            log.debug("[{}]:getAll->parent.isDraftForCreating()=true||isEmpty(ids)=true", this.name);
+            return Collections.emptyList();
+        }
+        Azure.az(IAzureAccount.class).account();
+        final Map<String, ResourceId> ids = new LinkedHashMap<>();
+        resourceIds.stream().map(ResourceId::fromString).forEach(id -> {
+            final String resourceGroup = normalizeResourceGroupName(id.name(), id.resourceGroupName());
+            ids.putIfAbsent(this.toResourceId(id.name(), resourceGroup).toLowerCase(), id);
+        });
+        final Map<String, ResourceId> missing = ids.entrySet().stream().filter(e -> this.isLoadingRequired(e.getKey()))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        if (!missing.isEmpty()) {
+            this.loadResources(missing);
+        }
+        final List<T> result = ids.keySet().stream().map(id -> this.resources.getOrDefault(id, Optional.empty()).orElse(null))
+            .filter(Objects::nonNull).collect(Collectors.toList());
+        this.evictIfExceeded();
+        return result;
+    }
+
+    private void loadResources(@Nonnull Map<String, ResourceId> missing) {
+        final boolean isChildModule = !(this.parent instanceof AbstractAzServiceSubscription) && !(this instanceof AzService);
+        if (isChildModule && missing.size() >= BULK_LISTING_THRESHOLD) { // listing children of a resource is a single call.
+            log.debug("[{}]:getAll->list()", this.name);
+            this.list();
+        }
+        if (this.getCachePolicy().isFresh(this.listedTime, System.currentTimeMillis())) { // never a warmed-up/revalidating listing
+            log.debug("[{}]:getAll->resolve from listing", this.name);
+            missing.keySet().stream().filter(this::isLoadingRequired).forEach(id -> this.addResourceToLocal(id, null, true));
+            return;
+        }
+        final Map<String, List<String>> byResourceGroup = missing.entrySet().stream().collect(Collectors.groupingBy(
+            e -> normalizeResourceGroupName(e.getValue().name(), e.getValue().resourceGroupName()).toLowerCase(),
+            LinkedHashMap::new, Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        final List<String> remaining = new ArrayList<>();
+        byResourceGroup.forEach((resourceGroup, ids) -> {
+            final boolean unknownGroup = StringUtils.equalsIgnoreCase(resourceGroup, RESOURCE_GROUP_PLACEHOLDER);
+            if (unknownGroup || ids.size() < BULK_LISTING_THRESHOLD || !this.loadResourcesInResourceGroup(resourceGroup, ids)) {
+                remaining.addAll(ids);
+            }
+        });
+        log.debug("[{}]:getAll->get({})", this.name, remaining);
+        final List<ResourceId> ids = remaining.stream().map(missing::get).collect(Collectors.toList());
+        AzureIoExecutor.getInstance().map(this.name + ".get", ids, id -> this.get(id.name(), id.resourceGroupName()));
+    }
+
+    /**
+     * @return false if listing resources by resource group is not supported or failed.
+     */
+    private boolean loadResourcesInResourceGroup(@Nonnull String resourceGroup, @Nonnull List<String> ids) {
+        Map<String, R> loaded;
+        try {
+            log.debug("[{}]:getAll->loadResourcesFromAzure({})", this.name, resourceGroup);
+            final Stream<R> stream = this.loadResourcesFromAzure(resourceGroup);
+            if (Objects.isNull(stream)) {
+                return false;
+            }
+            loaded = stream.collect(Collectors.toMap(r -> this.newResource(r).getId().toLowerCase(), r -> r));
+        } catch (Exception e) {
+            final Throwable cause = e instanceof ManagementException ? e : ExceptionUtils.getRootCause(e);
+            if (!(cause instanceof ManagementException) || HttpStatus.SC_NOT_FOUND != ((ManagementException) cause).getResponse().getStatusCode()) {
+                log.debug("[{}]:getAll->loadResourcesFromAzure({})=EXCEPTION", this.name, resourceGroup, e);
+                return false;
+            }
+            loaded = Collections.emptyMap();
+        }
+        final Map<String, R> loadedResources = loaded;
+        loadedResources.forEach((id, remote) -> {
+            final Optional<T> cached = this.resources.getOrDefault(id, Optional.empty());
+            if (cached.isPresent()) {
+                cached.get().setRemote(remote);
+            } else {
+                final T resource = this.newResource(remote);
+                resource.setRemote(remote);
+                this.addResourceToLocal(id, resource, true);
+            }
+        });
+        ids.stream().filter(id -> !loadedResources.containsKey(id)).forEach(id -> this.addResourceToLocal(id, null, true));
+        return true;
+    }
+
     @Override
     public boolean exists(@Nonnull String name, @Nullable String rgName) {
         final String resourceGroup = normalizeResourceGroupName(name, rgName);
@@ -274,7 +642,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     public T getOrInit(@Nonnull String name, @Nullable String rgName) {
         final String resourceGroup = normalizeResourceGroupName(name, rgName);
         log.debug("[{}]:getOrDraft({}, {})", this.name, name, rgName);
-        final String id = this.toResourceId(name, resourceGroup);
+        final String id = this.toResourceId(name, resourceGroup).toLowerCase();
         return this.resources.getOrDefault(id, Optional.empty()).orElseGet(() -> {
             final T resource = this.newResource(name, resourceGroup);
             log.debug("[{}]:get({}, {})->addResourceToLocal({}, resource)", this.name, id, resourceGroup, name);
@@ -285,14 +653,14 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
 
     @Nonnull
     public List<T> listCachedResources() { // getResources
-        return this.resources.values().stream().filter(Optional::isPresent).map(Optional::get)
-            .sorted(Comparator.comparing(AbstractAzResource::getName)).collect(Collectors.toList());
+        return this.getListing().sorted;
     }
 
     @Nonnull
     public List<T> listByResourceGroup(@Nonnull String resourceGroup) {
         log.debug("[{}]:listByResourceGroupName({})", this.name, resourceGroup);
-        return this.list().stream().filter(r -> r.getResourceGroupName().equalsIgnoreCase(resourceGroup)).collect(Collectors.toList());
+        this.list();
+        return this.getListing().byResourceGroup.getOrDefault(resourceGroup.toLowerCase(), Collections.emptyList());
     }
 
     @Nonnull
@@ -383,23 +751,33 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         log.debug("[{}]:deleteResourceFromLocal->this.resources.remove({})", this.name, id);
         id = id.toLowerCase();
         final Optional<T> removed = this.resources.remove(id);
+        this.removeMissTime(id);
+        if (Objects.nonNull(removed) && removed.isPresent()) {
+            MEMBERSHIP_VERSION.incrementAndGet(this);
+        }
         if (Objects.nonNull(removed) && removed.isPresent() && (silent.length == 0 || !silent[0])) {
             log.debug("[{}]:deleteResourceFromLocal->fireResourcesChangedEvent()", this.name);
-            fireEvents.debounce();
+            this.getFireEvents().debounce();
         }
     }
 
     protected void addResourceToLocal(@Nonnull String id, @Nullable T resource, boolean... silent) {
         log.debug("[{}]:addResourceToLocal({}, {})", this.name, id, resource);
         id = id.toLowerCase();
-        final Optional<T> oldResource = this.resources.getOrDefault(id, Optional.empty());
         final Optional<T> newResource = Optional.ofNullable(resource);
-        if (!oldResource.isPresent()) {
+        // atomically keep the existing present resource, otherwise put the new one.
+        final Optional<T> current = this.resources.compute(id, (k, v) -> Objects.nonNull(v) && v.isPresent() ? v : newResource);
+        if (current == newResource) {
             log.debug("[{}]:addResourceToLocal->this.resources.put({}, {})", this.name, id, resource);
-            this.resources.put(id, newResource);
+            if (newResource.isPresent()) {
+                this.removeMissTime(id);
+                MEMBERSHIP_VERSION.incrementAndGet(this);
+            } else {
+                this.getMissTimes().put(id, System.currentTimeMillis());
+            }
             if (newResource.isPresent() && (silent.length == 0 || !silent[0])) {
                 log.debug("[{}]:addResourceToLocal->fireResourcesChangedEvent()", this.name);
-                fireEvents.debounce();
+                this.getFireEvents().debounce();
             }
         }
     }
@@ -434,6 +812,23 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         return Stream.empty();
     }
 
+    /**
+     * @return null if listing resources by resource group is not supported.
+     */
+    @Nullable
+    @AzureOperation(name = "resource.list_resources.type|rg", params = {"this.getResourceTypeName()", "resourceGroup"}, type = AzureOperation.Type.SERVICE)
+    protected Stream<R> loadResourcesFromAzure(@Nonnull String resourceGroup) {
+        log.debug("[{}]:loadResourcesFromAzure({})", this.getName(), resourceGroup);
+        final Object client = this.getClient();
+        if (!this.parent.exists()) {
+            return Stream.empty();
+        } else if (client instanceof SupportsListingByResourceGroup) {
+            log.debug("[{}]:loadResourcesFromAzure->client.listByResourceGroup({})", this.name, resourceGroup);
+            return this.<SupportsListingByResourceGroup<R>>cast(client).listByResourceGroup(resourceGroup).stream();
+        }
+        return null;
+    }
+
     @Nullable
     @AzureOperation(name = "resource.load_resource.resource|type", params = {"name", "this.getResourceTypeName()"}, type = AzureOperation.Type.SERVICE)
     protected R loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
@@ -512,4 +907,22 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         //noinspection unchecked
         return (D) origin;
     }
+
+    /**
+     * present resources sorted by name and indexed by (lower-cased) resource group name.
+     */
+    private static class Listing<T extends AbstractAzResource<T, ?, ?>> {
+        private final long version;
+        private final List<T> sorted;
+        private final Map<String, List<T>> byResourceGroup;
+
+        private Listing(long version, @Nonnull Collection<Optional<T>> resources) {
+            this.version = version;
+            this.sorted = Collections.unmodifiableList(resources.stream().filter(Optional::isPresent).map(Optional::get)
+                .sorted(Comparator.comparing(AbstractAzResource::getName)).collect(Collectors.toList()));
+            this.byResourceGroup = Collections.unmodifiableMap(this.sorted.stream()
+                .collect(Collectors.groupingBy(r -> r.getResourceGroupName().toLowerCase(),
+                    Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList))));
+        }
+    }
 }
@@ -12,7 +12,10 @@ import org.jetbrains.annotations.Contract;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 public interface AzResourceModule<T extends AzResource<T, P, R>, P extends AzResource<P, ?, ?>, R> extends Refreshable {
     @Nonnull
@@ -30,6 +33,14 @@ public interface AzResourceModule<T extends AzResource<T, P, R>, P extends AzRes
     @Nullable
     T get(@Nonnull String name, @Nullable String resourceGroup);
 
+    /**
+     * @return existing resources in the order of {@code resourceIds}, nonexistent ones are skipped.
+     */
+    @Nonnull
+    default List<T> getAll(@Nonnull Collection<String> resourceIds) {
+        return resourceIds.stream().distinct().map(this::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     @Nonnull
     T getOrDraft(@Nonnull String name, @Nullable String resourceGroup);
 
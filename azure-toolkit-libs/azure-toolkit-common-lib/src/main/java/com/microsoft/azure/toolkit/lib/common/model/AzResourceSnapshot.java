@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.common.utils.Debouncer;
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+import com.microsoft.azure.toolkit.lib.common.utils.TailingDebouncer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * opt-in on-disk snapshot of module listings, used to warm up {@link AbstractAzResourceModule#list()} across processes.
+ * snapshots are stored per subscription under {@code ~/.azure/azure-toolkit/snapshots} and keyed by module id.
+ * only the identity (id, name and resource group) of resources is persisted, remotes are always (re)loaded from Azure.
+ * snapshots are written in background after {@link #SAVE_DELAY} without changes, pending ones are flushed on JVM shutdown.
+ */
+@Slf4j
+public class AzResourceSnapshot {
+    public static final long SNAPSHOT_LIFETIME = 24 * 60 * 60 * 1000; // 24 hours
+    public static final int SAVE_DELAY = 1000; // in milliseconds
+    private static final Path DEFAULT_SNAPSHOT_DIR = Paths.get(System.getProperty("user.home"), ".azure", "azure-toolkit", "snapshots");
+    private static final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private static final Map<String, Debouncer> writers = new ConcurrentHashMap<>();
+    private static final Set<String> dirty = ConcurrentHashMap.newKeySet(); // subscriptions with unwritten changes
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AzResourceSnapshot::flush, "azure-toolkit-snapshot"));
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.TRUE.equals(Azure.az().config().getResourceSnapshotEnabled());
+    }
+
+    /**
+     * @return snapshot of the given module if it's persisted within {@link #SNAPSHOT_LIFETIME}, otherwise null.
+     */
+    @Nullable
+    static Module load(@Nonnull AbstractAzResourceModule<?, ?, ?> module) {
+        if (!isSupported(module)) {
+            return null;
+        }
+        final Subscription subscription = getSubscription(module.getSubscriptionId());
+        final Module snapshot = subscription.getModules().get(module.getId().toLowerCase());
+        if (Objects.isNull(snapshot) || System.currentTimeMillis() - snapshot.getSyncTime() > SNAPSHOT_LIFETIME) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    static void save(@Nonnull AbstractAzResourceModule<?, ?, ?> module, @Nonnull Collection<? extends AbstractAzResource<?, ?, ?>> resources) {
+        if (!isSupported(module)) {
+            return;
+        }
+        final List<Resource> entries = resources.stream().filter(r -> !r.isDraftForCreating())
+            .map(r -> new Resource(r.getId(), r.getName(), r.getResourceGroupName()))
+            .collect(Collectors.toList());
+        final String subscriptionId = module.getSubscriptionId().toLowerCase();
+        getSubscription(subscriptionId).getModules().put(module.getId().toLowerCase(), new Module(System.currentTimeMillis(), entries));
+        dirty.add(subscriptionId);
+        writers.computeIfAbsent(subscriptionId, sid -> new TailingDebouncer(() -> write(sid), SAVE_DELAY)).debounce();
+    }
+
+    /**
+     * delete all persisted snapshots, called when signing out.
+     */
+    public static synchronized void clear() {
+        subscriptions.clear();
+        dirty.clear();
+        final File[] files = Optional.ofNullable(getSnapshotDir().toFile().listFiles()).orElse(new File[0]);
+        for (final File file : files) {
+            if (!file.delete()) {
+                log.debug("failed to delete resource snapshot({})", file);
+            }
+        }
+    }
+
+    private static boolean isSupported(@Nonnull AbstractAzResourceModule<?, ?, ?> module) {
+        final String subscriptionId = module.getParent() == AzResource.NONE ? null : module.getSubscriptionId();
+        return isEnabled() && StringUtils.isNotBlank(subscriptionId) && !StringUtils.equals(subscriptionId, AzResource.None.NONE);
+    }
+
+    @Nonnull
+    private static Subscription getSubscription(@Nonnull String subscriptionId) {
+        return subscriptions.computeIfAbsent(subscriptionId.toLowerCase(), sid -> {
+            final File file = getSnapshotFile(sid);
+            final Subscription loaded = file.isFile() ? JsonUtils.readFromJsonFile(file, Subscription.class) : null;
+            return Optional.ofNullable(loaded).orElseGet(Subscription::new);
+        });
+    }
+
+    /**
+     * write pending snapshots immediately.
+     */
+    public static void flush() {
+        new ArrayList<>(dirty).forEach(AzResourceSnapshot::write);
+    }
+
+    /**
+     * synchronized with {@link #clear()}, so that a snapshot being written is never left after clearing.
+     */
+    private static synchronized void write(@Nonnull String subscriptionId) {
+        final Subscription subscription = subscriptions.get(subscriptionId);
+        if (!dirty.remove(subscriptionId) || Objects.isNull(subscription)) { // written already or cleared
+            return;
+        }
+        final File target = getSnapshotFile(subscriptionId);
+        try {
+            Files.createDirectories(target.toPath().getParent());
+            final Path temp = Files.createTempFile(target.toPath().getParent(), target.getName(), ".tmp");
+            JsonUtils.writeToJsonFile(temp.toFile(), subscription);
+            try {
+                Files.move(temp, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException e) {
+            log.debug("failed to persist resource snapshot of subscription({})", subscriptionId, e);
+        }
+    }
+
+    @Nonnull
+    private static File getSnapshotFile(@Nonnull String subscriptionId) {
+        return getSnapshotDir().resolve(subscriptionId + ".json").toFile();
+    }
+
+    @Nonnull
+    private static Path getSnapshotDir() {
+        return Optional.ofNullable(Azure.az().config().getResourceSnapshotPath()).filter(StringUtils::isNotBlank)
+            .map(Paths::get).orElse(DEFAULT_SNAPSHOT_DIR);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Subscription {
+        @JsonDeserialize(as = ConcurrentHashMap.class)
+        private Map<String, Module> modules = new ConcurrentHashMap<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Module {
+        private long syncTime;
+        private List<Resource> resources;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Resource {
+        private String id;
+        private String name;
+        private String resourceGroupName;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * cache policy of an {@link AbstractAzResourceModule} and the resources it manages.
+ */
+@Getter
+@Builder
+@ToString
+public class CachePolicy {
+    public static final CachePolicy DEFAULT = CachePolicy.builder().build();
+
+    /**
+     * how long (in milliseconds) a loaded remote/listing is considered fresh.
+     */
+    @Builder.Default
+    private final long lifetime = AzResource.CACHE_LIFETIME;
+
+    /**
+     * how long (in milliseconds) after {@link #lifetime} a stale remote/listing is still served immediately
+     * while it is revalidated in background. callers block on reloading once it's exceeded. 0 disables stale-while-revalidate.
+     */
+    @Builder.Default
+    private final long maxStaleness = 0;
+
+    /**
+     * how long (in milliseconds) a negative entry (i.e. resource not found) is cached.
+     */
+    @Builder.Default
+    private final long negativeLifetime = AzResource.CACHE_LIFETIME;
+
+    /**
+     * max number of entries (including negative ones) a module caches, exceeded entries are evicted after resources are
+     * got one by one. a full listing is always kept entirely.
+     */
+    @Builder.Default
+    private final int maxEntries = Integer.MAX_VALUE;
+
+    public boolean isFresh(long syncTime, long now) {
+        return syncTime > 0 && now - syncTime <= this.lifetime;
+    }
+
+    public boolean isServableStale(long syncTime, long now) {
+        return syncTime > 0 && this.maxStaleness > 0 && now - syncTime <= this.lifetime + this.maxStaleness;
+    }
+}
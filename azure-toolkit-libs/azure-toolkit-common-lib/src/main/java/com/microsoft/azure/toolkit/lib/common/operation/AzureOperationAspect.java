@@ -5,6 +5,7 @@
 
 package com.microsoft.azure.toolkit.lib.common.operation;
 
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
@@ -65,11 +66,12 @@ public final class AzureOperationAspect {
             operation.getContext().setTelemetryProperty("subscriptionId", ((AzResource<?, ?, ?>) source).getSubscriptionId());
         }
         AzureTelemeter.beforeEnter(operation);
-        OperationThreadContext.current().pushOperation(operation);
+        AzureMetrics.counter("operation[%s]", operation.getId()).increment();
+        OperationThreadContext.pushOperation(operation);
     }
 
     public static void afterReturning(Operation current, Object source) {
-        final Operation operation = OperationThreadContext.current().popOperation();
+        final Operation operation = OperationThreadContext.popOperation();
         // TODO: this cannot ensure same operation actually, considering recursive call
         assert Objects.nonNull(operation) && Objects.equals(current, operation) :
             String.format("popped operation[%s] is not the exiting operation[%s]", current, operation);
@@ -77,11 +79,12 @@ public final class AzureOperationAspect {
     }
 
     public static void afterThrowing(Throwable e, Operation current, Object source) throws Throwable {
-        final Operation operation = OperationThreadContext.current().popOperation();
+        final Operation operation = OperationThreadContext.popOperation();
         // TODO: this cannot ensure same operation actually, considering recursive call
         assert Objects.nonNull(operation) && Objects.equals(current, operation) :
             String.format("popped operation[%s] is not the operation[%s] throwing exception", current, operation);
         AzureTelemeter.onError(operation, e);
+        AzureMetrics.counter("operation.error[%s]", operation.getId()).increment();
         if (e instanceof OperationException || (e instanceof Exception && !(e instanceof RuntimeException))) {
             throw e; // do not wrap checked exception and AzureOperationException
         }
@@ -8,32 +8,47 @@ package com.microsoft.azure.toolkit.lib.common.operation;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.utils.aspect.ExpressionUtils;
 import com.microsoft.azure.toolkit.lib.common.utils.aspect.MethodInvocation;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * the {@link AzureOperation} of a method is resolved once per method (see {@link Metadata}), arguments are only
+ * read when the description is rendered, so creating an operation is cheap.
+ */
 @Getter
-@RequiredArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 public class MethodOperation extends OperationBase {
+    private static final Map<Method, Metadata> metadata = new ConcurrentHashMap<>();
 
     @EqualsAndHashCode.Include
     private final MethodInvocation invocation;
+    @Getter(AccessLevel.NONE)
+    private final Metadata meta;
+
+    public MethodOperation(MethodInvocation invocation) {
+        this.invocation = invocation;
+        final Method method = invocation.getMethod();
+        final Metadata cached = metadata.get(method);
+        this.meta = Objects.nonNull(cached) ? cached : metadata.computeIfAbsent(method, Metadata::new);
+    }
 
     @Override
     public String toString() {
-        final AzureOperation annotation = this.invocation.getAnnotation(AzureOperation.class);
-        return String.format("{name:'%s', method:%s}", annotation.name(), this.invocation.getMethod().getName());
+        return String.format("{name:'%s', method:%s}", this.meta.name, this.invocation.getMethod().getName());
     }
 
     @Nonnull
     public String getId() {
-        final AzureOperation annotation = this.invocation.getAnnotation(AzureOperation.class);
-        return annotation.name();
+        return this.meta.name;
     }
 
     @Override
@@ -43,14 +58,31 @@ public class MethodOperation extends OperationBase {
 
     @Nonnull
     public String getType() {
-        final AzureOperation annotation = this.invocation.getAnnotation(AzureOperation.class);
-        return annotation.type().name();
+        return this.meta.type;
     }
 
     public AzureString getDescription() {
-        final AzureOperation annotation = this.invocation.getAnnotation(AzureOperation.class);
-        final String name = annotation.name();
-        final String[] params = Arrays.stream(annotation.params()).map(e -> ExpressionUtils.interpret(e, this.invocation)).toArray(String[]::new);
-        return OperationBundle.description(name, (Object[]) params);
+        final String[] params = Arrays.stream(this.meta.templates).map(t -> ExpressionUtils.render(t, this.invocation)).toArray(String[]::new);
+        return OperationBundle.description(this.meta.name, (Object[]) params);
+    }
+
+    /**
+     * values of {@link AzureOperation} of a method.
+     */
+    private static class Metadata {
+        private final String name;
+        private final String type;
+        /**
+         * templates of {@link AzureOperation#params()}, rendered against invocations.
+         */
+        private final String[] templates;
+
+        private Metadata(@Nonnull Method method) {
+            final AzureOperation annotation = Objects.requireNonNull(method.getAnnotation(AzureOperation.class),
+                () -> String.format("method(%s) is not annotated with @AzureOperation", method));
+            this.name = annotation.name();
+            this.type = annotation.type().name();
+            this.templates = Arrays.stream(annotation.params()).map(e -> String.format("${%s}", e)).toArray(String[]::new);
+        }
     }
 }
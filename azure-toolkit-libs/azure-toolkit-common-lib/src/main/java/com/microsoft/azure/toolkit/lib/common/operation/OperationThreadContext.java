@@ -8,8 +8,9 @@ package com.microsoft.azure.toolkit.lib.common.operation;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.utils.Utils;
 import lombok.Getter;
-import lombok.extern.java.Log;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -17,37 +18,45 @@ import java.io.InterruptedIOException;
 import java.util.Objects;
 import java.util.Optional;
 
-@Log
+/**
+ * immutable node of the operation stack of a thread: pushing an operation creates a new node pointing to the current one,
+ * popping restores the previous node. so capturing ({@link #derive()}) and restoring ({@link #run(Runnable)}) are O(1)
+ * without copying, and a captured context can be shared by any number of threads or carried by Reactor {@link Context}
+ * (see {@link #writeTo(Context)}/{@link #from(ContextView)}).
+ */
 public class OperationThreadContext {
+    public static final String REACTOR_CONTEXT_KEY = OperationThreadContext.class.getName();
+    private static final OperationThreadContext EMPTY = new OperationThreadContext(null, null);
     private static final ThreadLocal<OperationThreadContext> context = new ThreadLocal<>();
 
-    protected long threadId;
     @Nullable
-    protected Operation operation;
+    private final Operation operation;
     @Getter
     @Nullable
-    protected OperationThreadContext parent;
+    private final OperationThreadContext parent;
 
-    private OperationThreadContext(@Nullable final OperationThreadContext parent) {
-        this.threadId = -1;
-        this.setParent(parent);
+    private OperationThreadContext(@Nullable final Operation operation, @Nullable final OperationThreadContext parent) {
+        this.operation = operation;
+        this.parent = parent;
     }
 
-    private synchronized void setParent(@Nullable OperationThreadContext parent) {
-        if (!Objects.equals(this.parent, parent)) {
-            this.parent = parent;
-            this.operation = Optional.ofNullable(parent).map(p -> p.operation).orElse(null);
-        }
+    @Nonnull
+    public static OperationThreadContext current() {
+        final OperationThreadContext current = OperationThreadContext.context.get();
+        return Objects.isNull(current) ? EMPTY : current;
     }
 
+    /**
+     * @return context carried by the Reactor {@code view}, or the current context of this thread if there is none.
+     */
     @Nonnull
-    public static OperationThreadContext current() {
-        OperationThreadContext ctxNode = OperationThreadContext.context.get();
-        if (Objects.isNull(ctxNode)) {
-            ctxNode = new OperationThreadContext(null);
-            OperationThreadContext.context.set(ctxNode);
-        }
-        return ctxNode;
+    public static OperationThreadContext from(@Nonnull ContextView view) {
+        return view.getOrDefault(REACTOR_CONTEXT_KEY, OperationThreadContext.current());
+    }
+
+    @Nonnull
+    public Context writeTo(@Nonnull Context ctx) {
+        return this == EMPTY ? ctx : ctx.put(REACTOR_CONTEXT_KEY, this);
     }
 
     @Nullable
@@ -55,29 +64,31 @@ public class OperationThreadContext {
         return this.operation;
     }
 
-    synchronized void pushOperation(final Operation operation) {
-        if (Objects.isNull(this.parent) && Objects.isNull(this.operation)) {
-            log.fine(String.format("orphan context[%s] is setup", this));
-        }
-        operation.setParent(this.operation);
-        this.operation = operation;
+    /**
+     * push {@code operation} onto the operation stack of this thread.
+     */
+    static void pushOperation(final Operation operation) {
+        final OperationThreadContext current = OperationThreadContext.current();
+        operation.setParent(current.operation);
+        OperationThreadContext.context.set(new OperationThreadContext(operation, current));
     }
 
+    /**
+     * pop the current operation off the operation stack of this thread.
+     */
     @Nullable
-    synchronized Operation popOperation() {
-        final Operation popped = this.operation;
+    static Operation popOperation() {
+        final OperationThreadContext current = OperationThreadContext.current();
+        final Operation popped = current.operation;
         assert popped != null : "popped operation is null";
-        this.operation = popped.getParent();
-        if (Objects.isNull(this.parent) && Objects.isNull(this.operation)) {
-            OperationThreadContext.context.remove();
-            log.fine(String.format("orphan context[%s] is disposed", this));
-        }
+        restore(current.parent);
         return popped;
     }
 
     public void run(final Runnable runnable) {
+        final OperationThreadContext previous = OperationThreadContext.context.get();
+        OperationThreadContext.context.set(this);
         try {
-            this.setup();
             runnable.run();
         } catch (final Throwable throwable) {
             final Throwable rootCause = ExceptionUtils.getRootCause(throwable);
@@ -86,38 +97,42 @@ public class OperationThreadContext {
                 AzureMessager.getMessager().error(throwable);
             }
         } finally {
-            this.dispose();
+            restore(previous);
         }
     }
 
+    /**
+     * @return {@code runnable} running in this context, unlike {@link #run(Runnable)}, exceptions are not handled.
+     */
     @Nonnull
-    public OperationThreadContext derive() {
-        final long threadId = Thread.currentThread().getId();
-        final OperationThreadContext current = OperationThreadContext.current();
-        assert this == current : String.format("[threadId:%s] deriving context from context[%s] in context[%s].", threadId, this, current);
-        this.threadId = this.threadId > 0 ? this.threadId : threadId;
-        return new OperationThreadContext(this);
+    public Runnable wrap(@Nonnull final Runnable runnable) {
+        if (this == EMPTY) {
+            return runnable;
+        }
+        return () -> {
+            final OperationThreadContext previous = OperationThreadContext.context.get();
+            OperationThreadContext.context.set(this);
+            try {
+                runnable.run();
+            } finally {
+                restore(previous);
+            }
+        };
     }
 
-    private synchronized void setup() {
-        final OperationThreadContext current = OperationThreadContext.current();
-        final long threadId = Thread.currentThread().getId();
-        assert current.threadId == -1 || current.threadId == threadId : String.format("[threadId:%s] illegal thread context[%s]", threadId, current);
-        this.threadId = threadId; // we can not decide in which thread this task will run until here.
-        if (current.threadId != -1) {
-            this.setParent(current);
-        }
-        OperationThreadContext.context.set(this);
+    /**
+     * @return this context, it's immutable and can be captured as is.
+     */
+    @Nonnull
+    public OperationThreadContext derive() {
+        return this;
     }
 
-    private synchronized void dispose() {
-        final OperationThreadContext current = OperationThreadContext.current();
-        final long threadId = Thread.currentThread().getId();
-        assert this == current && this.threadId == threadId : String.format("[threadId:%s] disposing context[%s] in context[%s].", threadId, this, current);
-        if (this.parent == null || this.threadId != this.parent.threadId) { // this is the root task of current thread.
+    private static void restore(@Nullable OperationThreadContext previous) {
+        if (Objects.isNull(previous) || previous == EMPTY) {
             OperationThreadContext.context.remove();
-        } else { // this is not the root task of current thread.
-            OperationThreadContext.context.set(this.parent);
+        } else {
+            OperationThreadContext.context.set(previous);
         }
     }
 
@@ -128,6 +143,6 @@ public class OperationThreadContext {
     public String toString() {
         final String id = getId();
         final String prId = Optional.ofNullable(this.parent).map(OperationThreadContext::getId).orElse("/");
-        return String.format("{id: %s, threadId:%s, parent:%s}", id, this.threadId, prId);
+        return String.format("{id: %s, operation:%s, parent:%s}", id, this.operation, prId);
     }
 }
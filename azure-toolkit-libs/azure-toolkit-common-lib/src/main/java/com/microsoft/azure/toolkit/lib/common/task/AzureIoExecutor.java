@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * dedicated executor for blocking I/O (e.g. ARM calls) fanned out by resource modules, instead of the shared
+ * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool} or unbounded pooled threads.
+ * at most {@link com.microsoft.azure.toolkit.lib.AzureConfiguration#getIoConcurrency() ioConcurrency} tasks run concurrently,
+ * the others are queued. fan-outs from inside a worker run inline to avoid starving the pool.
+ */
+@Slf4j
+public class AzureIoExecutor {
+    public static final int DEFAULT_CONCURRENCY = 16;
+    @Getter
+    private static final AzureIoExecutor instance = new AzureIoExecutor();
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger maxQueueSize = new AtomicInteger();
+
+    private AzureIoExecutor() {
+        final AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(DEFAULT_CONCURRENCY, DEFAULT_CONCURRENCY, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            r -> new Worker(r, "azure-toolkit-io-" + count.incrementAndGet()));
+        this.executor.allowCoreThreadTimeOut(true);
+        AzureMetrics.gauge("io.queue_size", this::getQueueSize);
+        AzureMetrics.gauge("io.active_count", this::getActiveCount);
+        AzureMetrics.gauge("io.max_queue_size", this::getMaxQueueSize);
+    }
+
+    /**
+     * apply {@code mapper} to all {@code items} concurrently and wait for all results.
+     *
+     * @param name name of the fan-out, the time each item waited and took is recorded in {@link AzureMetrics} as
+     *             {@code io.queued[name]} and {@code io.execute[name]}.
+     * @return results in the order of {@code items}.
+     */
+    @Nonnull
+    public <K, V> List<V> map(@Nonnull String name, @Nonnull Collection<K> items, @Nonnull Function<? super K, ? extends V> mapper) {
+        if (items.size() <= 1 || Thread.currentThread() instanceof Worker) {
+            return items.stream().map(item -> this.<K, V>timed(name, item, mapper, System.nanoTime())).collect(Collectors.toList());
+        }
+        final List<CompletableFuture<V>> futures = items.stream().map(item -> this.<K, V>submit(name, item, mapper)).collect(Collectors.toList());
+        try {
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (final CompletionException e) {
+            futures.forEach(f -> f.cancel(false));
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * run {@code task} asynchronously, failures are logged only.
+     */
+    public void execute(@Nonnull String name, @Nonnull Runnable task) {
+        this.submit(name, task, t -> {
+            t.run();
+            return null;
+        }).whenComplete((r, e) -> Optional.ofNullable(e).ifPresent(t -> log.warn("[{}]: failed to execute task", name, t)));
+    }
+
+    @Nonnull
+    private <K, V> CompletableFuture<V> submit(@Nonnull String name, K item, @Nonnull Function<? super K, ? extends V> mapper) {
+        this.resize();
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final OperationThreadContext context = OperationThreadContext.current().derive();
+        final long submitted = System.nanoTime();
+        this.executor.execute(() -> context.run(() -> {
+            if (future.isDone()) { // cancelled
+                return;
+            }
+            try {
+                future.complete(this.timed(name, item, mapper, submitted));
+            } catch (final Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }));
+        this.maxQueueSize.accumulateAndGet(this.executor.getQueue().size(), Math::max);
+        return future;
+    }
+
+    private <K, V> V timed(@Nonnull String name, K item, @Nonnull Function<? super K, ? extends V> mapper, long submitted) {
+        final long start = System.nanoTime();
+        try {
+            return mapper.apply(item);
+        } finally {
+            final long end = System.nanoTime();
+            log.debug("[{}]:{} took {}ms (queued {}ms)", name, item, TimeUnit.NANOSECONDS.toMillis(end - start), TimeUnit.NANOSECONDS.toMillis(start - submitted));
+            AzureMetrics.timer("io.queued[%s]", name).record(start - submitted, TimeUnit.NANOSECONDS);
+            AzureMetrics.timer("io.execute[%s]", name).record(end - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void resize() {
+        final int concurrency = Optional.ofNullable(Azure.az().config().getIoConcurrency()).filter(c -> c > 0).orElse(DEFAULT_CONCURRENCY);
+        if (this.executor.getMaximumPoolSize() != concurrency) {
+            synchronized (this.executor) {
+                if (concurrency > this.executor.getMaximumPoolSize()) {
+                    this.executor.setMaximumPoolSize(concurrency);
+                    this.executor.setCorePoolSize(concurrency);
+                } else if (concurrency < this.executor.getMaximumPoolSize()) {
+                    this.executor.setCorePoolSize(concurrency);
+                    this.executor.setMaximumPoolSize(concurrency);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of tasks waiting for a worker.
+     */
+    public int getQueueSize() {
+        return this.executor.getQueue().size();
+    }
+
+    /**
+     * @return max number of tasks ever waiting for a worker.
+     */
+    public int getMaxQueueSize() {
+        return this.maxQueueSize.get();
+    }
+
+    /**
+     * @return number of workers running tasks.
+     */
+    public int getActiveCount() {
+        return this.executor.getActiveCount();
+    }
+
+    private static class Worker extends Thread {
+        private Worker(@Nonnull Runnable r, @Nonnull String name) {
+            super(r, name);
+            this.setDaemon(true);
+        }
+    }
+}
@@ -8,9 +8,11 @@ package com.microsoft.azure.toolkit.lib.common.task;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext;
 import rx.Completable;
 import rx.Observable;
+import rx.Scheduler;
 import rx.Single;
 import rx.functions.Func2;
 import rx.plugins.RxJavaHooks;
+import rx.schedulers.Schedulers;
 
 import java.util.Objects;
 
@@ -50,5 +52,13 @@ public class AzureRxTaskManager {
             }
             return oldSingleStartHooks.call(single, withClosure);
         });
+        // operation context is propagated over Reactor scheduler hops too, capturing the (immutable) context is free.
+        reactor.core.scheduler.Schedulers.onScheduleHook(OperationThreadContext.REACTOR_CONTEXT_KEY, r -> OperationThreadContext.current().wrap(r));
+        // io tasks share the backend of pooled tasks only if blocking in it is cheap (virtual threads), otherwise they would
+        // starve the bounded pool, so they stay on the unbounded cached pool of RxJava.
+        if (AzureTaskExecutor.isVirtual()) {
+            final Scheduler io = Schedulers.from(AzureTaskExecutor.getExecutor());
+            RxJavaHooks.setOnIOScheduler(ignore -> io);
+        }
     }
 }
@@ -173,7 +173,7 @@ public class AzureTask<T> extends OperationBase {
     }
 
     public static class DefaultMonitor implements Monitor {
-        private boolean cancelled = false;
+        private volatile boolean cancelled = false;
 
         @Override
         public void cancel() {
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * backend of pooled/background tasks of {@link AzureTaskManager}: a virtual thread per task on JDK 21+, otherwise a bounded
+ * pool of at most {@link com.microsoft.azure.toolkit.lib.AzureConfiguration#getTaskConcurrency() taskConcurrency} daemon threads.
+ * it can be replaced by {@link #register(Executor)}, e.g. by IDE plugins with their own pools.
+ * it's also the only pool for blocking work of Reactor ({@link #getScheduler()}) and, if based on virtual threads, RxJava (io scheduler, see {@link AzureRxTaskManager}),
+ * time-based scheduling (e.g. {@link reactor.core.publisher.Flux#interval}) stays on {@link Schedulers#parallel()}.
+ * {@link com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext} is propagated by the task manager, not the backend.
+ */
+@Slf4j
+public class AzureTaskExecutor {
+    public static final int DEFAULT_CONCURRENCY = 64;
+    private static volatile Executor executor;
+    private static volatile Scheduler scheduler;
+    private static volatile boolean virtual;
+
+    public static synchronized void register(@Nonnull Executor executor) {
+        AzureTaskExecutor.scheduler = Schedulers.fromExecutor(executor);
+        AzureTaskExecutor.executor = executor;
+        AzureTaskExecutor.virtual = false;
+    }
+
+    /**
+     * drop the current backend, the default one is created again on next use (e.g. with new configuration), for tests only.
+     */
+    static synchronized void reset() {
+        AzureTaskExecutor.executor = null;
+        AzureTaskExecutor.scheduler = null;
+        AzureTaskExecutor.virtual = false;
+    }
+
+    @Nonnull
+    public static Executor getExecutor() {
+        Executor current = executor;
+        if (Objects.isNull(current)) {
+            synchronized (AzureTaskExecutor.class) {
+                current = executor;
+                if (Objects.isNull(current)) {
+                    current = createDefault();
+                    scheduler = Schedulers.fromExecutor(current);
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return scheduler running on {@link #getExecutor() the backend}, for subscribing/publishing blocking work,
+     * it doesn't support time-based scheduling.
+     */
+    @Nonnull
+    public static Scheduler getScheduler() {
+        getExecutor();
+        return scheduler;
+    }
+
+    /**
+     * @return true if the default backend based on virtual threads is in use, i.e. blocking in tasks is cheap.
+     */
+    public static boolean isVirtual() {
+        getExecutor();
+        return virtual;
+    }
+
+    @Nonnull
+    private static Executor createDefault() {
+        try { // JDK 21+, reflectively since the toolkit targets java 8.
+            final Executor result = (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            virtual = true;
+            log.debug("using virtual threads for pooled tasks");
+            return result;
+        } catch (final NoSuchMethodException e) {
+            log.debug("virtual threads are not supported, using bounded pool for pooled tasks");
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            log.debug("failed to create executor of virtual threads, using bounded pool for pooled tasks", e);
+        }
+        final int concurrency = Optional.ofNullable(Azure.az().config().getTaskConcurrency()).filter(c -> c > 0).orElse(DEFAULT_CONCURRENCY);
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            final Thread thread = new Thread(r, "azure-toolkit-task-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -10,9 +10,13 @@ import com.microsoft.azure.toolkit.lib.common.operation.AzureOperationAspect;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
 import lombok.extern.java.Log;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
 import rx.Emitter;
 import rx.Observable;
 
+import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.concurrent.Callable;
 import java.util.function.BiConsumer;
 
@@ -44,7 +48,7 @@ public abstract class AzureTaskManager {
     }
 
     public final void read(AzureTask<Void> task) {
-        this.runInObservable(this::doRead, task).subscribe();
+        this.runInMono(this::doRead, task).subscribe(null, AzureTaskManager::onError);
     }
 
     public final void write(Runnable task) {
@@ -60,11 +64,11 @@ public abstract class AzureTaskManager {
     }
 
     public final void write(AzureTask<Void> task) {
-        this.runInObservable(this::doWrite, task).subscribe();
+        this.runInMono(this::doWrite, task).subscribe(null, AzureTaskManager::onError);
     }
 
     public final void runImmediately(Runnable task) {
-        this.runImmediatelyAsObservable(task).subscribe();
+        this.runImmediatelyAsMono(new AzureTask<>(task)).subscribe(null, AzureTaskManager::onError);
     }
 
     public final void runLater(Runnable task) {
@@ -92,11 +96,11 @@ public abstract class AzureTaskManager {
     }
 
     public final void runLater(AzureTask<Void> task) {
-        this.runInObservable(this::doRunLater, task).subscribe();
+        this.runInMono(this::doRunLater, task).subscribe(null, AzureTaskManager::onError);
     }
 
     public final void runOnPooledThread(Runnable task) {
-        this.runOnPooledThreadAsObservable(task).subscribe();
+        this.runOnPooledThreadAsMono(new AzureTask<>(task)).subscribe(null, AzureTaskManager::onError);
     }
 
     public final void runAndWait(Runnable task) {
@@ -124,7 +128,7 @@ public abstract class AzureTaskManager {
     }
 
     public final void runAndWait(AzureTask<Void> task) {
-        this.runInObservable(this::doRunAndWait, task).subscribe();
+        this.runInMono(this::doRunAndWait, task).subscribe(null, AzureTaskManager::onError);
     }
 
     public final void runInBackground(String title, Runnable task) {
@@ -160,7 +164,7 @@ public abstract class AzureTaskManager {
     }
 
     public final void runInBackground(AzureTask<Void> task) {
-        this.runInObservable(this::doRunInBackground, task).subscribe();
+        this.runInMono(this::doRunInBackground, task).subscribe(null, AzureTaskManager::onError);
     }
 
     public final void runInModal(String title, Runnable task) {
@@ -196,7 +200,7 @@ public abstract class AzureTaskManager {
     }
 
     public final void runInModal(AzureTask<Void> task) {
-        this.runInObservable(this::doRunInModal, task).subscribe();
+        this.runInMono(this::doRunInModal, task).subscribe(null, AzureTaskManager::onError);
     }
 
     public final Observable<Void> readAsObservable(Runnable task) {
@@ -375,6 +379,47 @@ public abstract class AzureTaskManager {
         return this.runInObservable(this::doRunInModal, task);
     }
 
+    /**
+     * open a {@link AzureTaskScope scope} on the current thread whose subtasks run on pooled threads of this manager.
+     *
+     * @param timeout null means no deadline except the one inherited from the enclosing scope.
+     */
+    public final AzureTaskScope openScope(@Nullable Duration timeout) {
+        return AzureTaskScope.open(timeout, this::doRunOnPooledThread);
+    }
+
+    public final <T> Mono<T> readAsMono(AzureTask<T> task) {
+        return this.runInMono(this::doRead, task);
+    }
+
+    public final <T> Mono<T> writeAsMono(AzureTask<T> task) {
+        return this.runInMono(this::doWrite, task);
+    }
+
+    public final <T> Mono<T> runImmediatelyAsMono(AzureTask<T> task) {
+        return this.runInMono(this::doRunImmediately, task);
+    }
+
+    public final <T> Mono<T> runLaterAsMono(AzureTask<T> task) {
+        return this.runInMono(this::doRunLater, task);
+    }
+
+    public final <T> Mono<T> runOnPooledThreadAsMono(AzureTask<T> task) {
+        return this.runInMono(this::doRunOnPooledThread, task);
+    }
+
+    public final <T> Mono<T> runAndWaitAsMono(AzureTask<T> task) {
+        return this.runInMono(this::doRunAndWait, task);
+    }
+
+    public final <T> Mono<T> runInBackgroundAsMono(AzureTask<T> task) {
+        return this.runInMono(this::doRunInBackground, task);
+    }
+
+    public final <T> Mono<T> runInModalAsMono(AzureTask<T> task) {
+        return this.runInMono(this::doRunInModal, task);
+    }
+
     private <T> Observable<T> runInObservable(final BiConsumer<? super Runnable, ? super AzureTask<T>> consumer, final AzureTask<T> task) {
         return Observable.create((Emitter<T> emitter) -> {
             final OperationThreadContext context = OperationThreadContext.current().derive();
@@ -393,6 +438,39 @@ public abstract class AzureTaskManager {
         }, Emitter.BackpressureMode.BUFFER);
     }
 
+    /**
+     * reactive counterpart of {@link #runInObservable}, without bridging RxJava (and its hooks) to Reactor.
+     * the task is run once per subscription, {@code null} result completes the mono empty. the task runs in the
+     * operation context carried by the subscriber's Reactor context if any (see {@link OperationThreadContext#writeTo}),
+     * otherwise in the context where the mono is created, no matter which thread subscribes it.
+     */
+    private <T> Mono<T> runInMono(final BiConsumer<? super Runnable, ? super AzureTask<T>> consumer, final AzureTask<T> task) {
+        final OperationThreadContext creator = OperationThreadContext.current().derive();
+        return Mono.create((MonoSink<T> sink) -> {
+            final OperationThreadContext context = OperationThreadContext.from(sink.contextView());
+            AzureTelemeter.afterCreate(task);
+            final Runnable t = () -> context.run(() -> {
+                final T result;
+                try {
+                    result = AzureOperationAspect.execute(task, null);
+                } catch (final Throwable e) {
+                    sink.error(e);
+                    return;
+                }
+                sink.success(result);
+            });
+            consumer.accept(t, task);
+        }).contextWrite(ctx -> ctx.hasKey(OperationThreadContext.REACTOR_CONTEXT_KEY) ? ctx : creator.writeTo(ctx));
+    }
+
+    /**
+     * errors of fire-and-forget tasks are not handled by any subscriber, treat them as uncaught.
+     */
+    private static void onError(Throwable e) {
+        final Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+
     protected abstract void doRead(Runnable runnable, AzureTask<?> task);
 
     protected abstract void doWrite(Runnable runnable, AzureTask<?> task);
@@ -403,7 +481,12 @@ public abstract class AzureTaskManager {
 
     protected abstract void doRunLater(Runnable runnable, AzureTask<?> task);
 
-    protected abstract void doRunOnPooledThread(Runnable runnable, AzureTask<?> task);
+    /**
+     * run on the {@link AzureTaskExecutor pluggable backend} by default.
+     */
+    protected void doRunOnPooledThread(Runnable runnable, AzureTask<?> task) {
+        AzureTaskExecutor.getExecutor().execute(runnable);
+    }
 
     protected abstract void doRunAndWait(Runnable runnable, AzureTask<?> task);
 
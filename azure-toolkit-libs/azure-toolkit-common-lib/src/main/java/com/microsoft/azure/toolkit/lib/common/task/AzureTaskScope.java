@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * structured concurrency for subtasks: subtasks are {@link #fork(AzureTask, Subtask[]) forked} with their dependencies and run
+ * concurrently on pooled threads once their dependencies succeeded. subtasks share the cancellation and deadline of the scope,
+ * the first failure cancels the scope: running subtasks are interrupted and {@link AzureTask#getMonitor() cancelled}, pending ones are skipped.
+ * reactive and blocking waits respect the scope by {@link #bind(Mono)}/{@link #block(Mono)}, nested scopes inherit both.
+ * <pre>
+ * try (final AzureTaskScope scope = AzureTaskScope.open(Duration.ofMinutes(30))) {
+ *     final Subtask&lt;?&gt; group = scope.fork(createGroup);
+ *     final Subtask&lt;AppServicePlan&gt; plan = scope.fork(createPlan, group);
+ *     scope.join();
+ *     return plan.get();
+ * }
+ * </pre>
+ */
+@Slf4j
+public class AzureTaskScope implements AutoCloseable {
+    private static final ThreadLocal<AzureTaskScope> current = new ThreadLocal<>();
+
+    @Nullable
+    private final AzureTaskScope parent;
+    private final BiConsumer<Runnable, AzureTask<?>> launcher;
+    /**
+     * in {@link System#nanoTime()}, {@link Long#MAX_VALUE} means no deadline.
+     */
+    @Getter
+    private final long deadline;
+    private final List<Subtask<?>> subtasks = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> cause = new AtomicReference<>();
+    private final Sinks.Empty<Void> cancellation = Sinks.empty();
+    private final Disposable.Composite disposables = Disposables.composite();
+
+    private AzureTaskScope(@Nullable Duration timeout, @Nonnull BiConsumer<Runnable, AzureTask<?>> launcher) {
+        this.parent = current.get();
+        this.launcher = launcher;
+        final long ownDeadline = Optional.ofNullable(timeout).map(t -> System.nanoTime() + t.toNanos()).orElse(Long.MAX_VALUE);
+        this.deadline = Math.min(ownDeadline, Optional.ofNullable(this.parent).map(p -> p.deadline).orElse(Long.MAX_VALUE));
+        if (Objects.nonNull(this.parent)) {
+            this.disposables.add(this.parent.cancellation.asMono().subscribe(v -> {
+            }, this::cancel));
+        }
+        if (this.deadline != Long.MAX_VALUE) {
+            final long remaining = Math.max(0, this.deadline - System.nanoTime());
+            this.disposables.add(Schedulers.parallel().schedule(() -> this.cancel(new TimeoutException("deadline of task scope is exceeded")), remaining, TimeUnit.NANOSECONDS));
+        }
+        current.set(this);
+    }
+
+    /**
+     * open a scope on the current thread, subtasks run on pooled threads of the registered {@link AzureTaskManager} if any.
+     *
+     * @param timeout null means no deadline except the one inherited from the enclosing scope.
+     */
+    @Nonnull
+    public static AzureTaskScope open(@Nullable Duration timeout) {
+        final AzureTaskManager manager = AzureTaskManager.getInstance();
+        return Objects.nonNull(manager) ? manager.openScope(timeout) : open(timeout, (r, t) -> AzureTaskExecutor.getExecutor().execute(r));
+    }
+
+    @Nonnull
+    static AzureTaskScope open(@Nullable Duration timeout, @Nonnull BiConsumer<Runnable, AzureTask<?>> launcher) {
+        return new AzureTaskScope(timeout, launcher);
+    }
+
+    /**
+     * @return the scope opened on the current thread or the scope of the current subtask.
+     */
+    @Nullable
+    public static AzureTaskScope current() {
+        return current.get();
+    }
+
+    /**
+     * @param dependencies subtasks (of this scope) that must succeed before {@code task} starts, nulls are ignored.
+     */
+    @Nonnull
+    public <T> Subtask<T> fork(@Nonnull AzureTask<T> task, @Nonnull Subtask<?>... dependencies) {
+        final Subtask<T> subtask = new Subtask<>(task);
+        this.subtasks.add(subtask);
+        if (this.isCancelled()) {
+            subtask.skip();
+            return subtask;
+        }
+        final OperationThreadContext context = OperationThreadContext.current().derive();
+        final CompletableFuture<?>[] futures = Arrays.stream(dependencies).filter(Objects::nonNull).map(d -> d.future).toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).whenComplete((r, e) -> {
+            if (Objects.nonNull(e) || this.isCancelled()) {
+                subtask.skip();
+                return;
+            }
+            try {
+                this.launcher.accept(() -> context.run(() -> subtask.run(this)), task);
+            } catch (final Throwable t) { // rejected
+                subtask.fail(this, t);
+            }
+        });
+        return subtask;
+    }
+
+    /**
+     * wait until all subtasks (including the ones forked while waiting) are done.
+     * the failure cancelling the scope is rethrown, e.g. {@link TimeoutException} if deadline is exceeded.
+     */
+    @SneakyThrows
+    public void join() {
+        for (int i = 0; i < this.subtasks.size(); i++) {
+            try {
+                this.subtasks.get(i).future.get();
+            } catch (final ExecutionException | CancellationException e) {
+                // cause is recorded by the failed subtask
+            } catch (final InterruptedException e) {
+                this.cancel(e);
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        final Throwable failure = this.cause.get();
+        if (Objects.nonNull(failure)) {
+            throw failure;
+        }
+    }
+
+    public void cancel() {
+        this.cancel(new CancellationException("task scope is cancelled"));
+    }
+
+    public void cancel(@Nonnull Throwable cause) {
+        if (!this.cause.compareAndSet(null, cause)) {
+            return;
+        }
+        this.cancellation.tryEmitError(cause); // nested scopes and bound monos first, before subtasks are interrupted and close them.
+        this.subtasks.forEach(Subtask::cancel);
+        this.disposables.dispose();
+    }
+
+    public boolean isCancelled() {
+        return Objects.nonNull(this.cause.get());
+    }
+
+    /**
+     * @throws CancellationException if the scope is cancelled
+     */
+    public void throwIfCancelled() {
+        final Throwable failure = this.cause.get();
+        if (Objects.nonNull(failure)) {
+            throw (CancellationException) new CancellationException("task scope is cancelled").initCause(failure);
+        }
+    }
+
+    /**
+     * @return remaining time before deadline, null if there is no deadline.
+     */
+    @Nullable
+    public Duration getRemaining() {
+        return this.deadline == Long.MAX_VALUE ? null : Duration.ofNanos(Math.max(0, this.deadline - System.nanoTime()));
+    }
+
+    /**
+     * @return {@code mono} which is cancelled and signals the failure once this scope is cancelled (or its deadline is exceeded),
+     * {@code mono} is never subscribed if the scope is cancelled already.
+     */
+    @Nonnull
+    public <T> Mono<T> bind(@Nonnull Mono<T> mono) {
+        // the cancellation goes first: it replays the failure on subscription if the scope is cancelled already.
+        return Mono.firstWithSignal(this.cancellation.asMono().then(Mono.never()), mono);
+    }
+
+    @Nullable
+    public <T> T block(@Nonnull Mono<T> mono) {
+        return this.bind(mono).block();
+    }
+
+    public void sleep(@Nonnull Duration duration) {
+        this.block(Mono.delay(duration).then());
+    }
+
+    /**
+     * cancel unfinished subtasks and restore the enclosing scope, should be called on the thread opening this scope.
+     */
+    @Override
+    public void close() {
+        if (this.subtasks.stream().anyMatch(s -> !s.future.isDone())) {
+            this.cancel(new CancellationException("task scope is closed"));
+        }
+        this.disposables.dispose();
+        if (current.get() == this) {
+            if (Objects.isNull(this.parent)) {
+                current.remove();
+            } else {
+                current.set(this.parent);
+            }
+        }
+    }
+
+    public static class Subtask<T> {
+        @Getter
+        @Nonnull
+        private final AzureTask<T> task;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        @Nullable
+        private Thread runner; // guarded by this
+
+        private Subtask(@Nonnull AzureTask<T> task) {
+            this.task = task;
+        }
+
+        /**
+         * @return result of the subtask, only valid if it succeeded, e.g. in its dependents or after {@link AzureTaskScope#join()}.
+         */
+        public T get() {
+            if (!this.future.isDone() || this.future.isCompletedExceptionally()) {
+                throw new IllegalStateException(String.format("subtask(%s) is not succeeded", this.task.getId()));
+            }
+            return this.future.join();
+        }
+
+        public boolean isDone() {
+            return this.future.isDone();
+        }
+
+        private void run(@Nonnull AzureTaskScope scope) {
+            synchronized (this) {
+                if (scope.isCancelled()) {
+                    this.skip();
+                    return;
+                }
+                this.runner = Thread.currentThread();
+            }
+            final AzureTaskScope previous = current.get();
+            current.set(scope);
+            try {
+                this.future.complete(this.task.execute());
+            } catch (final Throwable t) {
+                this.fail(scope, t);
+            } finally {
+                if (Objects.isNull(previous)) {
+                    current.remove();
+                } else {
+                    current.set(previous);
+                }
+                synchronized (this) {
+                    this.runner = null;
+                    Thread.interrupted(); // clear the interruption of cancelling, the thread is pooled.
+                }
+            }
+        }
+
+        private void fail(@Nonnull AzureTaskScope scope, @Nonnull Throwable t) {
+            if (!scope.isCancelled()) {
+                log.debug("subtask({}) failed, cancelling its scope", this.task.getId(), t);
+            }
+            scope.cancel(t);
+            this.future.completeExceptionally(t);
+        }
+
+        private void skip() {
+            this.future.completeExceptionally(new CancellationException(String.format("subtask(%s) is skipped", this.task.getId())));
+        }
+
+        private synchronized void cancel() {
+            this.task.getMonitor().cancel();
+            if (Objects.nonNull(this.runner)) {
+                this.runner.interrupt();
+            } else { // not started yet, no-op if done already.
+                this.skip();
+            }
+        }
+    }
+}
@@ -11,21 +11,23 @@ import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemetry.Properties;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemetry.Property;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
-import org.apache.commons.lang3.tuple.Triple;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.time.Instant;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 public class AzureTelemeter {
     public static final String SERVICE_NAME = "serviceName";
@@ -40,6 +42,7 @@ public class AzureTelemeter {
     public static final String ERROR_TYPE = "error.error_type";
     public static final String ERROR_CLASSNAME = "error.error_class_name";
     public static final String ERROR_STACKTRACE = "error.error_stack";
+    private static final Map<Method, ParameterProperty[]> parameterProperties = new ConcurrentHashMap<>();
     @Getter
     @Setter
     @Nullable
@@ -48,6 +51,7 @@ public class AzureTelemeter {
     @Setter
     @Nullable
     private static AzureTelemetryClient client;
+    private static volatile boolean telemetryEnabled = true;
 
     @Nullable
     public static Map<String, String> getCommonProperties() {
@@ -58,22 +62,55 @@ public class AzureTelemeter {
         Optional.ofNullable(client).ifPresent(client -> client.setDefaultProperties(commonProperties));
     }
 
+    /**
+     * @return false if telemetry is disabled by {@link com.microsoft.azure.toolkit.lib.AzureConfiguration#getTelemetryEnabled()
+     * configuration}, nothing about operations is recorded then. otherwise, timestamps of operations are recorded even before
+     * a client is registered, since they may be tracked by a client registered later.
+     */
+    public static boolean isTelemetryEnabled() {
+        return telemetryEnabled;
+    }
+
+    /**
+     * synced by {@link com.microsoft.azure.toolkit.lib.AzureConfiguration#setTelemetryEnabled(Boolean)}, so that the configuration
+     * is not read on every operation.
+     */
+    public static void setTelemetryEnabled(boolean enabled) {
+        telemetryEnabled = enabled;
+    }
+
     public static void afterCreate(@Nonnull final Operation op) {
+        if (!telemetryEnabled) {
+            return;
+        }
         op.getContext().setTelemetryProperty(AzureTelemetry.OP_CREATE_AT, Instant.now().toString());
     }
 
     public static void beforeEnter(@Nonnull final Operation op) {
+        if (!telemetryEnabled) {
+            return;
+        }
         op.getContext().setTelemetryProperty(AzureTelemetry.OP_ENTER_AT, Instant.now().toString());
     }
 
     public static void afterExit(@Nonnull final Operation op) {
+        if (!telemetryEnabled) {
+            return;
+        }
         op.getContext().setTelemetryProperty(AzureTelemetry.OP_EXIT_AT, Instant.now().toString());
-        AzureTelemeter.log(AzureTelemetry.Type.OP_END, serialize(op));
+        if (Objects.nonNull(client)) { // nothing to track otherwise, skip serializing
+            AzureTelemeter.log(AzureTelemetry.Type.OP_END, serialize(op));
+        }
     }
 
     public static void onError(@Nonnull final Operation op, Throwable error) {
+        if (!telemetryEnabled) {
+            return;
+        }
         op.getContext().setTelemetryProperty(AzureTelemetry.OP_EXIT_AT, Instant.now().toString());
-        AzureTelemeter.log(AzureTelemetry.Type.ERROR, serialize(op), error);
+        if (Objects.nonNull(client)) {
+            AzureTelemeter.log(AzureTelemetry.Type.ERROR, serialize(op), error);
+        }
     }
 
     public static void log(final AzureTelemetry.Type type, final Map<String, String> properties, final Throwable e) {
@@ -120,16 +157,16 @@ public class AzureTelemeter {
 
     private static Map<String, String> getParameterProperties(MethodOperation ref) {
         final HashMap<String, String> properties = new HashMap<>();
-        final List<Triple<String, Parameter, Object>> args = ref.getInvocation().getArgs();
-        for (final Triple<String, Parameter, Object> arg : args) {
-            final Parameter param = arg.getMiddle();
-            final Object value = arg.getRight();
-            Optional.ofNullable(param.getAnnotation(Property.class))
-                .map(Property::value)
-                .map(n -> Property.PARAM_NAME.equals(n) ? param.getName() : n)
+        final ParameterProperty[] params = getParameterProperties(ref.getInvocation().getMethod());
+        if (params.length == 0) {
+            return properties;
+        }
+        final Object[] values = ref.getInvocation().getArgValues();
+        for (final ParameterProperty param : params) {
+            final Object value = values[param.index];
+            Optional.ofNullable(param.name)
                 .ifPresent((name) -> properties.put(name, Optional.ofNullable(value).map(Object::toString).orElse("")));
-            Optional.ofNullable(param.getAnnotation(Properties.class))
-                .map(Properties::value)
+            Optional.ofNullable(param.converter)
                 .map(AzureTelemeter::instantiate)
                 .map(converter -> converter.convert(value))
                 .ifPresent(properties::putAll);
@@ -137,6 +174,24 @@ public class AzureTelemeter {
         return properties;
     }
 
+    /**
+     * @return parameters annotated with {@link Property}/{@link Properties}, resolved once per method.
+     */
+    @Nonnull
+    private static ParameterProperty[] getParameterProperties(@Nonnull Method method) {
+        final ParameterProperty[] cached = parameterProperties.get(method);
+        return Objects.nonNull(cached) ? cached : parameterProperties.computeIfAbsent(method, m -> {
+            final Parameter[] params = m.getParameters();
+            return IntStream.range(0, params.length)
+                .mapToObj(i -> new ParameterProperty(i,
+                    Optional.ofNullable(params[i].getAnnotation(Property.class)).map(Property::value)
+                        .map(n -> Property.PARAM_NAME.equals(n) ? params[i].getName() : n).orElse(null),
+                    Optional.ofNullable(params[i].getAnnotation(Properties.class)).map(Properties::value).orElse(null)))
+                .filter(p -> Objects.nonNull(p.name) || Objects.nonNull(p.converter))
+                .toArray(ParameterProperty[]::new);
+        });
+    }
+
     @Nonnull
     private static Map<String, String> getActionProperties(@Nonnull Operation operation) {
         return Optional.ofNullable(operation.getActionParent())
@@ -168,4 +223,13 @@ public class AzureTelemeter {
         toolError,
         unclassifiedError
     }
+
+    @RequiredArgsConstructor
+    private static class ParameterProperty {
+        private final int index;
+        @Nullable
+        private final String name;
+        @Nullable
+        private final Class<? extends Properties.Converter> converter;
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * coalesces concurrent executions by key: only the first caller of a key runs the supplier, callers arriving while it's
+ * in flight wait for and share its result (or exception). nothing is cached once the execution finishes.
+ * calls are counted by {@link #getName() name} in {@link AzureMetrics} as {@code singleflight.call[name]} and
+ * {@code singleflight.coalesced[name]}.
+ */
+public class SingleFlight<K, V> {
+    @Getter
+    @Nonnull
+    private final String name;
+    @Nonnull
+    private final Map<K, CompletableFuture<V>> inflights = new ConcurrentHashMap<>();
+
+    public SingleFlight(@Nonnull String name) {
+        this.name = name;
+    }
+
+    public V execute(@Nonnull K key, @Nonnull Supplier<V> supplier) {
+        AzureMetrics.counter("singleflight.call[%s]", this.name).increment();
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> inflight = this.inflights.putIfAbsent(key, flight);
+        if (Objects.nonNull(inflight)) {
+            AzureMetrics.counter("singleflight.coalesced[%s]", this.name).increment();
+            try {
+                return inflight.join();
+            } catch (final CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            final V result = supplier.get();
+            flight.complete(result);
+            return result;
+        } catch (final Throwable t) {
+            flight.completeExceptionally(t);
+            throw t;
+        } finally {
+            this.inflights.remove(key, flight);
+        }
+    }
+
+    public boolean isInFlight(@Nonnull K key) {
+        return this.inflights.containsKey(key);
+    }
+
+    /**
+     * @return key of {@code key} owned by {@code owner}, equal keys of different owners (compared by identity) never coalesce,
+     * e.g. resources of the same id in different modules.
+     */
+    @Nonnull
+    public static Object owned(@Nonnull Object owner, @Nonnull Object key) {
+        return new OwnedKey(owner, key);
+    }
+
+    @RequiredArgsConstructor
+    private static class OwnedKey {
+        @Nonnull
+        private final Object owner;
+        @Nonnull
+        private final Object key;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof OwnedKey && ((OwnedKey) o).owner == this.owner && ((OwnedKey) o).key.equals(this.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(this.owner) + this.key.hashCode();
+        }
+    }
+}
@@ -5,47 +5,89 @@
 
 package com.microsoft.azure.toolkit.lib.common.utils;
 
-import rx.Observable;
-import rx.Subscription;
-import rx.schedulers.Schedulers;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskExecutor;
+import lombok.extern.slf4j.Slf4j;
 
-import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
+/**
+ * backed by the shared {@link TimerWheel}: {@link #debounce()} only postpones the deadline if it's pending already,
+ * the debounced runs on {@link AzureTaskExecutor#getExecutor() pooled threads}.
+ */
+@Slf4j
 public class TailingDebouncer implements Debouncer {
+    private static final int IDLE = 0;
+    private static final int SCHEDULED = 1;
+    private static final int CANCELLED = 2; // still in timer wheel
+    private static final AtomicIntegerFieldUpdater<TailingDebouncer> STATE = AtomicIntegerFieldUpdater.newUpdater(TailingDebouncer.class, "state");
+    private static final AtomicIntegerFieldUpdater<TailingDebouncer> RUNNING = AtomicIntegerFieldUpdater.newUpdater(TailingDebouncer.class, "running");
+
     private final Runnable debounced;
-    private final int delay;
-    private Subscription timer;
+    private final long delay; // in nanoseconds
+    private final TimerWheel.Timeout timeout = new TimerWheel.Timeout() {
+        @Override
+        public long getDeadline() {
+            return TailingDebouncer.this.deadline;
+        }
+
+        @Override
+        public void expire() {
+            TailingDebouncer.this.expire();
+        }
+    };
+    private volatile long deadline;
+    private volatile int state = IDLE;
+    private volatile int running; // number of running debounced
 
     public TailingDebouncer(final Runnable debounced, final int delayInMillis) {
         this.debounced = debounced;
-        this.delay = delayInMillis;
+        this.delay = TimeUnit.MILLISECONDS.toNanos(delayInMillis);
     }
 
     @Override
-    public synchronized void debounce() {
-        if (this.isPending()) {
-            this.timer.unsubscribe();
+    public void debounce() {
+        AzureMetrics.counter("debouncer.debounce").increment();
+        this.deadline = System.nanoTime() + this.delay;
+        while (true) {
+            final int s = this.state;
+            if (s == SCHEDULED || (s == CANCELLED && STATE.compareAndSet(this, CANCELLED, SCHEDULED))) {
+                return;
+            } else if (s == IDLE && STATE.compareAndSet(this, IDLE, SCHEDULED)) {
+                TimerWheel.getInstance().schedule(this.timeout);
+                return;
+            }
         }
-        this.timer = Observable.timer(this.delay, TimeUnit.MILLISECONDS)
-            .subscribeOn(Schedulers.io())
-            .subscribe(ignore -> {
-                this.debounced.run();
-                this.clearTimer();
-            }, (e) -> this.clearTimer());
     }
 
-    public synchronized void cancel() {
-        if (this.isPending()) {
-            this.timer.unsubscribe();
-        }
+    public void cancel() {
+        STATE.compareAndSet(this, SCHEDULED, CANCELLED);
     }
 
-    public synchronized boolean isPending() {
-        return Objects.nonNull(this.timer) && !this.timer.isUnsubscribed();
+    public boolean isPending() {
+        return this.state == SCHEDULED || this.running > 0;
     }
 
-    private synchronized void clearTimer() {
-        this.timer = null;
+    private void expire() {
+        if (STATE.compareAndSet(this, CANCELLED, IDLE) || !STATE.compareAndSet(this, SCHEDULED, IDLE)) {
+            return;
+        }
+        RUNNING.incrementAndGet(this);
+        try {
+            AzureTaskExecutor.getExecutor().execute(() -> {
+                try {
+                    AzureMetrics.counter("debouncer.fire").increment();
+                    this.debounced.run();
+                } catch (final Throwable t) {
+                    log.warn("error occurs on running debounced task", t);
+                } finally {
+                    RUNNING.decrementAndGet(this);
+                }
+            });
+        } catch (final RuntimeException e) { // rejected
+            RUNNING.decrementAndGet(this);
+            throw e;
+        }
     }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * hashed timer wheel shared by all debouncers: a single daemon thread ticks every {@link #TICK} and expires due timeouts,
+ * it parks while there is nothing scheduled. a timeout is checked again (and moved) if its deadline was postponed,
+ * so rescheduling a timeout is just updating its deadline. timeouts are expected to be short, i.e. to hand off real work.
+ */
+@Slf4j
+final class TimerWheel {
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int WHEEL_SIZE = 512; // power of 2
+    @Getter
+    private static final TimerWheel instance = new TimerWheel();
+
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Timeout>[] buckets = new ArrayDeque[WHEEL_SIZE]; // only accessed by the worker
+    private final Thread worker;
+    private final long startTime = System.nanoTime();
+    private long tick; // only accessed by the worker
+    private int scheduled; // only accessed by the worker
+    private volatile boolean idle;
+
+    private TimerWheel() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.buckets[i] = new ArrayDeque<>();
+        }
+        this.worker = new Thread(this::run, "azure-toolkit-timer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * the timeout is expired once after its {@link Timeout#getDeadline() deadline}, it can be scheduled again after then.
+     */
+    void schedule(@Nonnull Timeout timeout) {
+        this.added.offer(timeout);
+        if (this.idle) {
+            LockSupport.unpark(this.worker);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                this.waitForNextTick();
+                final long now = System.nanoTime();
+                for (Timeout timeout; (timeout = this.added.poll()) != null; ) {
+                    this.scheduled++;
+                    this.place(timeout);
+                }
+                final ArrayDeque<Timeout> bucket = this.buckets[(int) (this.tick & (WHEEL_SIZE - 1))];
+                for (int n = bucket.size(); n > 0; n--) {
+                    final Timeout timeout = bucket.poll();
+                    if (timeout.getDeadline() - now <= 0) {
+                        this.scheduled--;
+                        this.expire(timeout);
+                    } else {
+                        this.place(timeout); // not due yet, e.g. postponed or due in later rounds.
+                    }
+                }
+            } catch (final Throwable t) {
+                log.warn("error occurs in timer wheel", t);
+            }
+        }
+    }
+
+    private void waitForNextTick() {
+        if (this.scheduled == 0 && this.added.isEmpty()) {
+            this.idle = true;
+            while (this.added.isEmpty()) {
+                LockSupport.park(this);
+            }
+            this.idle = false;
+            this.tick = (System.nanoTime() - this.startTime) / TICK;
+            return;
+        }
+        final long next = this.startTime + (this.tick + 1) * TICK;
+        for (long remaining = next - System.nanoTime(); remaining > 0; remaining = next - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+        }
+        this.tick++;
+    }
+
+    private void place(@Nonnull Timeout timeout) {
+        final long target = Math.max((timeout.getDeadline() - this.startTime + TICK - 1) / TICK, this.tick + 1);
+        this.buckets[(int) (target & (WHEEL_SIZE - 1))].add(timeout);
+    }
+
+    private void expire(@Nonnull Timeout timeout) {
+        try {
+            timeout.expire();
+        } catch (final Throwable t) {
+            log.warn("error occurs on expiring timeout", t);
+        }
+    }
+
+    interface Timeout {
+        /**
+         * @return deadline in {@link System#nanoTime()}, may be postponed after scheduled.
+         */
+        long getDeadline();
+
+        void expire();
+    }
+}
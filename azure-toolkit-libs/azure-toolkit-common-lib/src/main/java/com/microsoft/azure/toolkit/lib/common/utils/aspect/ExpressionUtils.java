@@ -9,25 +9,30 @@ import com.azure.resourcemanager.resources.fluentcore.arm.ResourceUtils;
 import com.google.common.collect.ImmutableMap;
 import groovy.text.SimpleTemplateEngine;
 import groovy.text.Template;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.java.Log;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Triple;
 import org.codehaus.groovy.runtime.MethodClosure;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.lang.reflect.Parameter;
+import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 @Log
 public class ExpressionUtils {
     private static final ImmutableMap<String, Boolean> valueMap = ImmutableMap.of("true", true, "false", false);
-    private static final SimpleTemplateEngine engine = new SimpleTemplateEngine();
     private static final String INVALID_TEMPLATE = "error occurs when evaluate template(%s) with bindings(%s)";
+    /**
+     * compiled templates by method and template. templates come from annotations, so the cache is bounded by the annotated methods.
+     */
+    private static final Map<Method, Map<String, CompiledTemplate>> templates = new ConcurrentHashMap<>();
 
     public static boolean evaluate(@Nonnull final String expression, @Nonnull final MethodInvocation invocation, boolean defaultVal) {
         final String result = interpret(expression, invocation);
@@ -42,30 +47,87 @@ public class ExpressionUtils {
         if (StringUtils.isBlank(template) || !template.contains("$")) { // no groovy expression, just return
             return template;
         }
-        final Map<String, Object> bindings = initBindings(invocation);
-        final String fixed = template.replaceAll("(\\W)this(\\.)", "$1_this_$2"); // resolve `this`
-        try {
-            final Template tpl = engine.createTemplate(fixed);
-            return tpl.make(bindings).toString();
-        } catch (final Throwable e) { // swallow all exceptions during render
-            log.log(Level.SEVERE, String.format(INVALID_TEMPLATE, template, bindings), e);
-        }
-        return template;
+        return templates.computeIfAbsent(invocation.getMethod(), m -> new ConcurrentHashMap<>())
+            .computeIfAbsent(template, t -> new CompiledTemplate(t, SimpleTemplate.parse(t, invocation.getParameterNames())))
+            .render(invocation);
     }
 
-    @Nonnull
-    private static Map<String, Object> initBindings(@Nonnull final MethodInvocation invocation) {
-        final List<Triple<String, Parameter, Object>> args = invocation.getArgs();
-        final Map<String, Object> bindings = new HashMap<>();
-        for (Triple<String, Parameter, Object> arg : args) {
-            bindings.put(arg.getLeft(), arg.getRight());
+    /**
+     * a template evaluated by {@link SimpleTemplate} if supported, otherwise (or if it's not supported for the invocation,
+     * e.g. navigating through null) by Groovy.
+     */
+    @RequiredArgsConstructor
+    private static class CompiledTemplate {
+        @Nonnull
+        private final String template;
+        @Nullable
+        private final SimpleTemplate simple;
+        @Nullable
+        private volatile Optional<Template> groovy; // compiled on first use, `Optional.empty()` means the template can not be compiled.
+
+        @Nonnull
+        String render(@Nonnull final MethodInvocation invocation) {
+            if (Objects.nonNull(this.simple)) {
+                try {
+                    return this.simple.render(invocation);
+                } catch (final SimpleTemplate.UnsupportedTemplateException e) { // let groovy decide the result
+                    log.log(Level.FINE, String.format("fallback to groovy to evaluate template(%s): %s", this.template, e.getMessage()));
+                } catch (final Throwable e) { // swallow all exceptions during render, as groovy does, without calling getters again.
+                    log.log(Level.SEVERE, String.format(INVALID_TEMPLATE, this.template, Arrays.toString(invocation.getArgValues())), e);
+                    return this.template;
+                }
+            }
+            Optional<Template> tpl = this.groovy;
+            if (Objects.isNull(tpl)) {
+                tpl = Groovy.compile(this.template);
+                this.groovy = tpl;
+            }
+            if (!tpl.isPresent()) {
+                return this.template;
+            }
+            final Map<String, Object> bindings = Groovy.initBindings(invocation);
+            try {
+                return tpl.get().make(bindings).toString();
+            } catch (final Throwable e) { // swallow all exceptions during render
+                log.log(Level.SEVERE, String.format(INVALID_TEMPLATE, this.template, bindings), e);
+            }
+            return this.template;
         }
-        bindings.put("_this_", invocation.getInstance());
-        bindPredefinedFunctions(bindings);
-        return bindings;
     }
 
-    private static void bindPredefinedFunctions(@Nonnull Map<String, Object> bindings) {
-        bindings.put("nameFromResourceId", new MethodClosure(ResourceUtils.class, "nameFromResourceId"));
+    /**
+     * groovy is loaded only if some template is not supported by {@link SimpleTemplate}.
+     */
+    static class Groovy {
+        private static final SimpleTemplateEngine engine = new SimpleTemplateEngine();
+        private static final MethodClosure nameFromResourceId = new MethodClosure(ResourceUtils.class, "nameFromResourceId");
+
+        @Nonnull
+        static Optional<Template> compile(@Nonnull final String template) {
+            final String fixed = template.replaceAll("(\\W)this(\\.)", "$1_this_$2"); // resolve `this`
+            try {
+                return Optional.of(engine.createTemplate(fixed));
+            } catch (final Throwable e) { // swallow all exceptions during compile, the template is returned as it is.
+                log.log(Level.SEVERE, String.format("error occurs when compile template(%s)", template), e);
+            }
+            return Optional.empty();
+        }
+
+        @Nonnull
+        static Map<String, Object> initBindings(@Nonnull final MethodInvocation invocation) {
+            final String[] names = invocation.getParameterNames();
+            final Object[] values = invocation.getArgValues();
+            final Map<String, Object> bindings = new HashMap<>(names.length * 2 + 4);
+            for (int i = 0; i < names.length; i++) {
+                bindings.put(names[i], values[i]);
+            }
+            bindings.put("_this_", invocation.getInstance());
+            bindPredefinedFunctions(bindings);
+            return bindings;
+        }
+
+        private static void bindPredefinedFunctions(@Nonnull Map<String, Object> bindings) {
+            bindings.put("nameFromResourceId", nameFromResourceId);
+        }
     }
 }
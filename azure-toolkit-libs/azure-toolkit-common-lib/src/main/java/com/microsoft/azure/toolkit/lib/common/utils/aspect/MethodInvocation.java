@@ -20,14 +20,21 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class MethodInvocation {
+    private static final Map<Method, String[]> parameterNames = new ConcurrentHashMap<>();
+    private static final Map<Method, Parameter[]> parameters = new ConcurrentHashMap<>();
+
     @Getter
     @EqualsAndHashCode.Include
     protected final Method method;
     private final JoinPoint point;
     private final MethodSignature signature;
+    private volatile Object[] args; // captured on first use
 
     @Builder
     MethodInvocation(JoinPoint point) {
@@ -54,16 +61,47 @@ public class MethodInvocation {
     }
 
     public List<Triple<String, Parameter, Object>> getArgs() {
-        final List<Triple<String, Parameter, Object>> result = new ArrayList<>();
-        final String[] names = this.signature.getParameterNames();
-        final Parameter[] params = this.method.getParameters();
-        final Object[] values = this.point.getArgs();
+        final String[] names = this.getParameterNames();
+        final Parameter[] params = this.getParameters();
+        final Object[] values = this.getArgValues();
+        final List<Triple<String, Parameter, Object>> result = new ArrayList<>(params.length);
         for (int i = 0; i < params.length; i++) {
             result.add(Triple.of(names[i], params[i], values[i]));
         }
         return result;
     }
 
+    /**
+     * @return names of parameters, resolved once per method.
+     */
+    @Nonnull
+    public String[] getParameterNames() {
+        final String[] cached = parameterNames.get(this.method);
+        return Objects.nonNull(cached) ? cached : parameterNames.computeIfAbsent(this.method, m -> this.signature.getParameterNames());
+    }
+
+    /**
+     * @return parameters of method, resolved once per method.
+     */
+    @Nonnull
+    public Parameter[] getParameters() {
+        final Parameter[] cached = parameters.get(this.method);
+        return Objects.nonNull(cached) ? cached : parameters.computeIfAbsent(this.method, Method::getParameters);
+    }
+
+    /**
+     * @return arguments of the invocation, captured (copied by AspectJ) on first call and shared by later calls, don't modify.
+     */
+    @Nonnull
+    public Object[] getArgValues() {
+        Object[] result = this.args;
+        if (Objects.isNull(result)) {
+            result = this.point.getArgs();
+            this.args = result;
+        }
+        return result;
+    }
+
     public <T extends Annotation> T getAnnotation(Class<T> annotation) {
         return this.method.getAnnotation(annotation);
     }
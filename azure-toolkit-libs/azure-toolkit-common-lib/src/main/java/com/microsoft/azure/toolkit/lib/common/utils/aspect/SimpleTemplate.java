@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils.aspect;
+
+import com.azure.resourcemanager.resources.fluentcore.arm.ResourceUtils;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * compiled form of the common templates, e.g. {@code "${subscriptionId}/${region.getName()}"}, {@code "$subscriptionId"},
+ * {@code "${this.getName()}"} and {@code "${nameFromResourceId(id)}"}, evaluated without Groovy.
+ * supported expressions are parameters and {@code this} followed by properties and/or methods without arguments,
+ * optionally wrapped by {@code nameFromResourceId(...)}. {@link #parse} returns null for anything else.
+ */
+class SimpleTemplate {
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_]\\w*");
+    private static final Pattern STEP = Pattern.compile("([A-Za-z_]\\w*)(\\(\\))?");
+    private static final Pattern NAME_FROM_RESOURCE_ID = Pattern.compile("nameFromResourceId\\((.+)\\)");
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Object[] segments; // String or Expression
+
+    private SimpleTemplate(@Nonnull List<Object> segments) {
+        this.segments = segments.toArray();
+    }
+
+    /**
+     * @param parameters names of parameters of the method that the template is evaluated against.
+     * @return null if the template is not supported.
+     */
+    @Nullable
+    static SimpleTemplate parse(@Nonnull String template, @Nonnull String[] parameters) {
+        final List<Object> segments = new ArrayList<>();
+        final StringBuilder text = new StringBuilder();
+        int i = 0;
+        while (i < template.length()) {
+            final char c = template.charAt(i);
+            if (c == '\\' || (c == '<' && i + 1 < template.length() && template.charAt(i + 1) == '%')) { // escapes and scriptlets
+                return null;
+            } else if (c != '$') {
+                text.append(c);
+                i++;
+                continue;
+            }
+            final String source;
+            if (i + 1 < template.length() && template.charAt(i + 1) == '{') {
+                final int end = template.indexOf('}', i + 2);
+                if (end < 0) {
+                    return null;
+                }
+                source = template.substring(i + 2, end);
+                i = end + 1;
+            } else { // `$a.b` form of GString: dotted identifiers
+                final int start = i + 1;
+                int end = start;
+                Matcher m = IDENTIFIER.matcher(template).region(end, template.length());
+                while (m.lookingAt()) {
+                    end = m.end();
+                    if (end + 1 < template.length() && template.charAt(end) == '.') {
+                        m = IDENTIFIER.matcher(template).region(end + 1, template.length());
+                    } else {
+                        break;
+                    }
+                }
+                if (end == start || (end < template.length() && template.charAt(end) == '(')) {
+                    return null;
+                }
+                source = template.substring(start, end);
+                i = end;
+            }
+            final Expression expression = Expression.parse(source, parameters);
+            if (Objects.isNull(expression)) {
+                return null;
+            }
+            if (text.length() > 0) {
+                segments.add(text.toString());
+                text.setLength(0);
+            }
+            segments.add(expression);
+        }
+        if (text.length() > 0) {
+            segments.add(text.toString());
+        }
+        return new SimpleTemplate(segments);
+    }
+
+    /**
+     * @throws UnsupportedTemplateException if the template can not be evaluated without Groovy against the invocation,
+     *                                      e.g. navigating through null or accessing an unsupported member.
+     * @throws Exception                    if a getter or method fails, Groovy would fail too.
+     */
+    @Nonnull
+    String render(@Nonnull MethodInvocation invocation) throws Exception {
+        if (this.segments.length == 1 && this.segments[0] instanceof Expression) {
+            return toString(((Expression) this.segments[0]).evaluate(invocation));
+        }
+        final StringBuilder result = new StringBuilder();
+        for (final Object segment : this.segments) {
+            if (segment instanceof Expression) {
+                result.append(toString(((Expression) segment).evaluate(invocation)));
+            } else {
+                result.append((String) segment);
+            }
+        }
+        return result.toString();
+    }
+
+    @Nonnull
+    private static String toString(@Nullable Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        } else if (value == null || value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum) {
+            return String.valueOf(value);
+        }
+        return InvokerHelper.toString(value); // same as Groovy, e.g. for collections, maps and arrays.
+    }
+
+    @RequiredArgsConstructor
+    private static class Expression {
+        private final int parameter; // index of the root parameter, -1 means `this`
+        private final Step[] steps;
+        private final boolean nameFromResourceId;
+
+        @Nullable
+        static Expression parse(@Nonnull String source, @Nonnull String[] parameters) {
+            String path = StringUtils.deleteWhitespace(source);
+            final Matcher m = NAME_FROM_RESOURCE_ID.matcher(path);
+            final boolean nameFromResourceId = m.matches();
+            path = nameFromResourceId ? m.group(1) : path;
+            final String[] parts = StringUtils.splitPreserveAllTokens(path, '.');
+            if (ArrayUtils.isEmpty(parts) || !IDENTIFIER.matcher(parts[0]).matches()) {
+                return null;
+            }
+            final int parameter = "this".equals(parts[0]) ? -1 : ArrayUtils.indexOf(parameters, parts[0]);
+            if (parameter == ArrayUtils.INDEX_NOT_FOUND && !"this".equals(parts[0])) {
+                return null;
+            }
+            final Step[] steps = new Step[parts.length - 1];
+            for (int i = 1; i < parts.length; i++) {
+                final Matcher s = STEP.matcher(parts[i]);
+                if (!s.matches()) {
+                    return null;
+                }
+                steps[i - 1] = new Step(s.group(1), Objects.nonNull(s.group(2)));
+            }
+            return new Expression(parameter, steps, nameFromResourceId);
+        }
+
+        @Nullable
+        Object evaluate(@Nonnull MethodInvocation invocation) throws Exception {
+            Object value = this.parameter < 0 ? invocation.getInstance() : invocation.getArgValues()[this.parameter];
+            for (final Step step : this.steps) {
+                if (Objects.isNull(value)) {
+                    throw new UnsupportedTemplateException("navigating through null");
+                }
+                value = step.apply(value);
+            }
+            if (this.nameFromResourceId) {
+                if (Objects.nonNull(value) && !(value instanceof String)) {
+                    throw new UnsupportedTemplateException("nameFromResourceId() expects a string");
+                }
+                return ResourceUtils.nameFromResourceId((String) value);
+            }
+            return value;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Step {
+        private final String name;
+        private final boolean call;
+        @Nullable
+        private volatile Accessor cached; // monomorphic inline cache, a step mostly sees targets of the same class.
+
+        @Nullable
+        Object apply(@Nonnull Object target) throws Exception {
+            if (!this.call && target instanceof Map) {
+                return ((Map<?, ?>) target).get(this.name);
+            }
+            Accessor accessor = this.cached;
+            if (Objects.isNull(accessor) || accessor.type != target.getClass()) {
+                accessor = new Accessor(target.getClass(), this.resolve(target.getClass()));
+                this.cached = accessor;
+            }
+            final Member member = accessor.member;
+            try {
+                return member instanceof Method ? ((Method) member).invoke(target, NO_ARGS) : ((Field) member).get(target);
+            } catch (final IllegalAccessException e) {
+                throw new UnsupportedTemplateException(e.getMessage());
+            }
+        }
+
+        @Nonnull
+        private Member resolve(@Nonnull Class<?> type) throws UnsupportedTemplateException {
+            try {
+                return this.call ? accessible(type.getMethod(this.name)) : this.resolveProperty(type);
+            } catch (final NoSuchMethodException | RuntimeException e) { // e.g. members of inaccessible modules
+                throw new UnsupportedTemplateException(e.getMessage());
+            }
+        }
+
+        @Nonnull
+        private Member resolveProperty(@Nonnull Class<?> type) throws NoSuchMethodException {
+            final String capitalized = StringUtils.capitalize(this.name);
+            for (final String getter : new String[]{"get" + capitalized, "is" + capitalized}) {
+                try {
+                    final Method method = type.getMethod(getter);
+                    if (!getter.startsWith("is") || method.getReturnType() == boolean.class) {
+                        return accessible(method);
+                    }
+                } catch (final NoSuchMethodException ignored) {
+                    // try next
+                }
+            }
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                try {
+                    return accessible(c.getDeclaredField(this.name));
+                } catch (final NoSuchFieldException ignored) {
+                    // try super class
+                }
+            }
+            throw new NoSuchMethodException(String.format("no property(%s) in %s", this.name, type.getName()));
+        }
+
+        @Nonnull
+        private static <M extends AccessibleObject & Member> M accessible(@Nonnull M member) {
+            if (!Modifier.isPublic(member.getModifiers()) || !Modifier.isPublic(member.getDeclaringClass().getModifiers())) {
+                member.setAccessible(true);
+            }
+            return member;
+        }
+    }
+
+    /**
+     * the template is not supported by {@link SimpleTemplate} for the invocation, Groovy may handle it differently.
+     */
+    static class UnsupportedTemplateException extends Exception {
+        UnsupportedTemplateException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Accessor {
+        private final Class<?> type;
+        private final Member member;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import com.microsoft.azure.toolkit.lib.common.model.FakeResources;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class CacheManagerTest {
+    private Service service;
+
+    @Before
+    public void setUp() throws Exception {
+        CacheManager.evictCache(CacheEvict.ALL, null);
+        this.service = new Service();
+    }
+
+    @Test
+    public void testSyncResultIsCached() {
+        assertEquals("value-a", this.service.get("a"));
+        assertEquals("value-a", this.service.get("a"));
+        assertEquals("value-b", this.service.get("b"));
+        assertEquals(2, this.service.calls.get());
+    }
+
+    @Test
+    public void testMonoResultIsCached() {
+        assertEquals("mono-a", this.service.mono("a").block());
+        assertEquals("mono-a", this.service.mono("a").block()); // hit
+        assertEquals(1, this.service.calls.get());
+    }
+
+    @Test
+    public void testEmptyMonoIsCached() {
+        assertNull(this.service.empty("a").block());
+        assertNull(this.service.empty("a").block()); // hit
+        assertEquals(1, this.service.calls.get());
+    }
+
+    @Test
+    public void testFluxResultIsCached() {
+        assertEquals(Arrays.asList("a1", "a2"), this.service.flux("a").collectList().block());
+        final List<String> cached = this.service.flux("a").collectList().block(); // hit
+        assertEquals(Arrays.asList("a1", "a2"), cached);
+        assertEquals(1, this.service.calls.get());
+    }
+
+    @Test
+    public void testFutureResultIsCached() {
+        assertEquals("future-a", this.service.future("a").join());
+        assertEquals("future-a", this.service.future("a").join()); // hit
+        assertEquals(1, this.service.calls.get());
+    }
+
+    @Test
+    public void testFailedMonoIsNotCached() {
+        this.service.failing("a").onErrorResume(e -> Mono.empty()).block();
+        this.service.failing("a").onErrorResume(e -> Mono.empty()).block();
+        assertEquals(2, this.service.calls.get());
+    }
+
+    @Test
+    public void testResultIsNotCachedIfConditionIsNotMet() {
+        this.service.conditional("a", false);
+        assertEquals("conditional-a", this.service.conditional("a", true)); // cached by the call skipping cache
+        assertEquals(1, this.service.calls.get());
+    }
+
+    @Test
+    public void testLargeEntryWithinBudgetIsKept() {
+        CacheManager.setBudget("test/list", 4000);
+        assertEquals(3000, this.service.list("a", 3000).size());
+        assertEquals(3000, this.service.list("a", 3000).size()); // hit
+        assertEquals(1, this.service.calls.get());
+    }
+
+    @Test
+    public void testBudgetIsSharedByAllEntries() {
+        CacheManager.setBudget("test/list", 10);
+        this.service.list("a", 4); // weight: 5
+        this.service.list("b", 4);
+        this.service.list("c", 4); // "a" is evicted
+        this.service.list("c", 4);
+        this.service.list("b", 4);
+        assertEquals(3, this.service.calls.get());
+        this.service.list("a", 4);
+        assertEquals(4, this.service.calls.get());
+    }
+
+    @Test
+    public void testStaleValueIsServedWhileRefreshing() throws InterruptedException {
+        assertEquals("fresh-a-1", this.service.fresh("a"));
+        Thread.sleep(150); // due to refresh
+        assertEquals("fresh-a-1", this.service.fresh("a")); // not blocked by the refresh
+        FakeResources.await(() -> this.service.fresh("a").equals("fresh-a-2"));
+        assertEquals(2, this.service.calls.get());
+    }
+
+    @Test
+    public void testFailedRefreshKeepsValueAndIsRetried() throws InterruptedException {
+        assertEquals("fresh-a-1", this.service.fresh("a"));
+        this.service.failing = true;
+        Thread.sleep(150);
+        assertEquals("fresh-a-1", this.service.fresh("a"));
+        FakeResources.await(() -> this.service.calls.get() == 2);
+        assertEquals("fresh-a-1", this.service.fresh("a")); // failure is not cached
+
+        this.service.failing = false;
+        Thread.sleep(20); // retried a tenth of the interval later
+        FakeResources.await(() -> this.service.fresh("a").equals("fresh-a-3"));
+    }
+
+    @Test
+    public void testEvictedValueIsNotRefreshed() throws Exception {
+        assertEquals("fresh-a-1", this.service.fresh("a"));
+        CacheManager.evictCache("test/fresh", CacheEvict.ALL);
+        Thread.sleep(150);
+        assertEquals("fresh-a-2", this.service.fresh("a")); // reloaded, not refreshed
+        Thread.sleep(50);
+        assertEquals(2, this.service.calls.get());
+    }
+
+    @Test
+    public void testUsageHistoryIsSharedByRelatedClasses() {
+        final LRUStack<Base> base = CacheManager.getUsageHistory(Base.class);
+        final LRUStack<Derived> derived = CacheManager.getUsageHistory(Derived.class);
+        assertSame(base, derived);
+        assertNotSame(base, CacheManager.getUsageHistory(Unrelated.class));
+        final Derived value = new Derived();
+        derived.push(value);
+        assertSame(value, CacheManager.getUsageHistory(Base.class).peek());
+    }
+
+    @Test
+    public void testUsageHistoryAliasIsRegistered() throws Exception {
+        final Field field = CacheManager.class.getDeclaredField("histories");
+        field.setAccessible(true);
+        final Map<?, ?> histories = (Map<?, ?>) field.get(null);
+        final LRUStack<Aliased> aliased = CacheManager.getUsageHistory(Aliased.class);
+        assertFalse(histories.containsKey(AliasedDerived.class));
+        assertSame(aliased, CacheManager.getUsageHistory(AliasedDerived.class));
+        assertSame(aliased, histories.get(AliasedDerived.class)); // resolved once, then keyed by the class directly
+        assertSame(aliased, CacheManager.getUsageHistory(AliasedDerived.class));
+    }
+
+    private static class Base {
+    }
+
+    private static class Derived extends Base {
+    }
+
+    private static class Unrelated {
+    }
+
+    private static class Aliased {
+    }
+
+    private static class AliasedDerived extends Aliased {
+    }
+
+    public static class Service {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+
+        @Cacheable(cacheName = "test/sync", key = "$id")
+        public String get(String id) {
+            this.calls.incrementAndGet();
+            return "value-" + id;
+        }
+
+        @Cacheable(cacheName = "test/mono", key = "$id")
+        public Mono<String> mono(String id) {
+            this.calls.incrementAndGet();
+            return Mono.fromCallable(() -> "mono-" + id);
+        }
+
+        @Cacheable(cacheName = "test/empty", key = "$id")
+        public Mono<String> empty(String id) {
+            this.calls.incrementAndGet();
+            return Mono.empty();
+        }
+
+        @Cacheable(cacheName = "test/flux", key = "$id")
+        public Flux<String> flux(String id) {
+            this.calls.incrementAndGet();
+            return Flux.just(id + "1", id + "2");
+        }
+
+        @Cacheable(cacheName = "test/future", key = "$id")
+        public CompletableFuture<String> future(String id) {
+            this.calls.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> "future-" + id);
+        }
+
+        @Cacheable(cacheName = "test/failing", key = "$id")
+        public Mono<String> failing(String id) {
+            this.calls.incrementAndGet();
+            return Mono.error(new IllegalStateException("failed"));
+        }
+
+        @Cacheable(cacheName = "test/list", key = "$id")
+        public List<Integer> list(String id, int size) {
+            this.calls.incrementAndGet();
+            return IntStream.range(0, size).boxed().collect(Collectors.toList());
+        }
+
+        @Cacheable(cacheName = "test/fresh", key = "$id", refreshAfter = 100)
+        public String fresh(String id) {
+            final int call = this.calls.incrementAndGet();
+            if (this.failing) {
+                throw new IllegalStateException("failed");
+            }
+            return "fresh-" + id + "-" + call;
+        }
+
+        @Cacheable(cacheName = "test/conditional", key = "$id", condition = "useCache")
+        public String conditional(String id, boolean useCache) {
+            this.calls.incrementAndGet();
+            return "conditional-" + id;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DiskCacheTest {
+    private static final long LIFETIME = 60000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        Azure.az().config().setDiskCacheEnabled(true);
+        Azure.az().config().setDiskCachePath(new File(this.folder.getRoot(), "caches").getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() {
+        Azure.az().config().setDiskCacheEnabled(null);
+        Azure.az().config().setDiskCachePath(null);
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        final Type type = Service.class.getMethod("regions", String.class).getGenericReturnType();
+        DiskCache.write("test/regions", "sub1", Arrays.asList("eastus", "westus"));
+        assertEquals(Arrays.asList("eastus", "westus"), DiskCache.read("test/regions", "sub1", type, LIFETIME));
+        assertNull(DiskCache.read("test/regions", "sub2", type, LIFETIME));
+        assertNull(DiskCache.read("test/regions", "sub1", type, -1)); // expired
+    }
+
+    @Test
+    public void testCorruptedEntryIsIgnored() throws Exception {
+        final Type type = Service.class.getMethod("regions", String.class).getGenericReturnType();
+        DiskCache.write("test/corrupted", "sub1", Arrays.asList("eastus", "westus"));
+        for (final File file : files()) {
+            Files.write(file.toPath(), "not gzipped json".getBytes(StandardCharsets.UTF_8));
+        }
+        assertNull(DiskCache.read("test/corrupted", "sub1", type, LIFETIME));
+    }
+
+    @Test
+    public void testDelete() throws Exception {
+        final Type type = Service.class.getMethod("regions", String.class).getGenericReturnType();
+        DiskCache.write("test/deleted", "sub1", Arrays.asList("eastus"));
+        DiskCache.write("test/deleted", "sub2", Arrays.asList("westus"));
+        DiskCache.delete("test/deleted", "sub1");
+        assertNull(DiskCache.read("test/deleted", "sub1", type, LIFETIME));
+        assertEquals(Arrays.asList("westus"), DiskCache.read("test/deleted", "sub2", type, LIFETIME));
+        DiskCache.delete("test/deleted", null);
+        assertNull(DiskCache.read("test/deleted", "sub2", type, LIFETIME));
+        DiskCache.write("test/deleted", "sub3", Arrays.asList("westus"));
+        DiskCache.clear();
+        assertTrue(files().isEmpty());
+    }
+
+    @Test
+    public void testCachedValueIsSharedAcrossProcesses() throws Exception {
+        final Service service = new Service();
+        assertEquals(Arrays.asList("sub1-eastus", "sub1-westus"), service.regions("sub1"));
+        await(() -> files().size() == 1); // persisted in background
+        CacheManager.setBudget("test/disk", CacheManager.DEFAULT_BUDGET); // drop in-memory entries, as if in a new process
+        assertEquals(Arrays.asList("sub1-eastus", "sub1-westus"), service.regions("sub1"));
+        assertEquals(1, service.calls.get());
+    }
+
+    private Collection<File> files() {
+        return FileUtils.listFiles(this.folder.getRoot(), new String[]{"gz"}, true);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("condition is not met in 10 seconds", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    public static class Service {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Cacheable(cacheName = "test/disk", key = "$subscriptionId", diskLifetime = LIFETIME)
+        public List<String> regions(String subscriptionId) {
+            this.calls.incrementAndGet();
+            return Arrays.asList(subscriptionId + "-eastus", subscriptionId + "-westus");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LRUStackTest {
+
+    @Test
+    public void testPeekReturnsMostRecentFirst() {
+        final LRUStack<Integer> stack = new LRUStack<>();
+        assertNull(stack.peek());
+        assertNull(stack.peek(v -> true));
+        stack.push(1);
+        stack.push(2);
+        stack.push(3);
+        assertEquals(3, (int) stack.peek());
+        assertEquals(3, (int) stack.peek(v -> v % 2 == 1));
+        assertEquals(2, (int) stack.peek(v -> v % 2 == 0));
+        assertNull(stack.peek(v -> v > 3));
+        stack.push(1);
+        assertEquals(1, (int) stack.peek());
+        assertEquals(Arrays.asList(2, 3, 1), new ArrayList<>(stack.getData().keySet()));
+    }
+
+    @Test
+    public void testLeastRecentIsEvictedAtSize() {
+        final LRUStack<Integer> stack = new LRUStack<>(3);
+        stack.push(1);
+        stack.push(2);
+        stack.push(3);
+        stack.push(4);
+        assertEquals(Arrays.asList(2, 3, 4), new ArrayList<>(stack.getData().keySet()));
+        stack.push(2); // already in stack, nothing is evicted
+        assertEquals(Arrays.asList(3, 4, 2), new ArrayList<>(stack.getData().keySet()));
+        stack.push(5);
+        assertEquals(Arrays.asList(4, 2, 5), new ArrayList<>(stack.getData().keySet()));
+    }
+
+    @Test
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    public void testExistingInstanceIsKept() {
+        final LRUStack<String> stack = new LRUStack<>();
+        final String a = new String("a");
+        final String b = new String("b");
+        stack.push(a);
+        stack.push(b);
+        stack.push(new String("b")); // equal to the most recent
+        assertSame(b, stack.peek());
+        stack.push(new String("a")); // equal to a less recent one
+        assertSame(a, stack.peek());
+        assertEquals(2, stack.getData().size());
+    }
+
+    @Test
+    public void testPushReplacesInsteadOfMutating() {
+        final LRUStack<Integer> stack = new LRUStack<>(2);
+        stack.push(1);
+        stack.push(2);
+        final Map<Integer, Integer> snapshot = stack.getData();
+        stack.push(3);
+        stack.push(1);
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(snapshot.keySet()));
+        assertEquals(Arrays.asList(3, 1), new ArrayList<>(stack.getData().keySet()));
+    }
+
+    @Test
+    public void testConcurrentPushes() throws Exception {
+        final int threads = 8;
+        final LRUStack<Integer> stack = new LRUStack<>(5);
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t;
+                futures.add(executor.submit(() -> {
+                    assertTrue(start.await(10, TimeUnit.SECONDS));
+                    for (int i = 0; i < 10000; i++) {
+                        stack.push((i + offset) % 20);
+                        assertTrue(stack.getData().size() <= 5);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        final List<Integer> values = new ArrayList<>(stack.getData().keySet());
+        assertEquals(5, values.size());
+        assertEquals(5, new HashSet<>(values).size()); // no duplicates
+        assertSame(values.get(values.size() - 1), stack.peek());
+    }
+}
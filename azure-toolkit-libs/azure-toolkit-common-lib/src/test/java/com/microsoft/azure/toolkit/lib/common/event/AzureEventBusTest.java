@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.event;
+
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.common.metrics.InMemoryMetricsRegistry;
+import com.microsoft.azure.toolkit.lib.common.metrics.NoopMetricsRegistry;
+import com.microsoft.azure.toolkit.lib.common.model.FakeResources;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AzureEventBusTest {
+    private static final String BLOCK = "block";
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final List<String> blockedTypes = new ArrayList<>();
+    private final AzureEventBus.EventListener blocker = new AzureEventBus.EventListener(e -> {
+        if (BLOCK.equals(e.getPayload())) {
+            this.blocked.countDown();
+            await(this.released);
+        }
+    });
+
+    @After
+    public void tearDown() {
+        this.released.countDown();
+        this.blockedTypes.forEach(type -> AzureEventBus.off(type, this.blocker));
+        FakeResources.await(() -> AzureEventBus.getQueueDepth() == 0);
+        AzureMetrics.register(NoopMetricsRegistry.INSTANCE);
+    }
+
+    @Test
+    public void testEventsAreDispatchedInOrder() {
+        final List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        AzureEventBus.on("test.order", new AzureEventBus.EventListener(e -> received.add(e.getPayload())));
+        final List<Integer> emitted = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        emitted.forEach(i -> AzureEventBus.emit("test.order", new Event("test.order", this, i)));
+        FakeResources.await(() -> received.size() == emitted.size());
+        assertEquals(emitted, received);
+    }
+
+    @Test
+    public void testQueuedEventsWithoutPayloadAreCoalesced() {
+        final Object source = new Object();
+        final Object another = new Object();
+        final List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        this.blockDrainer("test.coalesce");
+        AzureEventBus.on("test.coalesce", new AzureEventBus.EventListener(e -> received.add(e.getSource())));
+        for (int i = 0; i < 10; i++) {
+            AzureEventBus.emit("test.coalesce", source);
+        }
+        AzureEventBus.emit("test.coalesce", another);
+        AzureEventBus.emit("test.coalesce", new Event("test.coalesce", source, "payload")); // never coalesced
+        assertEquals(3, AzureEventBus.getQueueDepth());
+
+        this.released.countDown();
+        FakeResources.await(() -> received.size() == 3);
+        assertSame(source, received.get(0));
+        assertSame(another, received.get(1));
+        assertSame(source, received.get(2));
+
+        AzureEventBus.emit("test.coalesce", source); // dispatched, so not coalesced anymore
+        FakeResources.await(() -> received.size() == 4);
+    }
+
+    @Test
+    public void testOldestEventsAreDroppedOnceQueueIsFull() {
+        final InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        AzureMetrics.register(registry);
+        final List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        final Set<Thread> dispatchers = ConcurrentHashMap.newKeySet();
+        this.blockDrainer("test.full");
+        AzureEventBus.on("test.full", new AzureEventBus.EventListener(e -> {
+            dispatchers.add(Thread.currentThread());
+            received.add(e.getPayload());
+        }));
+        final int dropped = 10;
+        for (int i = 0; i < AzureEventBus.QUEUE_CAPACITY + dropped; i++) {
+            AzureEventBus.emit("test.full", new Event("test.full", this, i));
+        }
+        assertEquals(AzureEventBus.QUEUE_CAPACITY, AzureEventBus.getQueueDepth());
+        assertEquals(dropped, registry.counter("eventbus.dropped[test.full]").getCount());
+
+        this.released.countDown();
+        FakeResources.await(() -> received.size() == AzureEventBus.QUEUE_CAPACITY);
+        assertEquals(IntStream.range(dropped, AzureEventBus.QUEUE_CAPACITY + dropped).boxed().collect(Collectors.toList()), received);
+        assertFalse(dispatchers.contains(Thread.currentThread())); // never dispatched in the emitting thread
+    }
+
+    @Test
+    public void testSlowListenerDoesNotDelayOtherTypes() {
+        final List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        this.blockDrainer("test.slow");
+        AzureEventBus.on("test.slow", new AzureEventBus.EventListener(e -> received.add(e.getPayload())));
+        AzureEventBus.on("test.fast", new AzureEventBus.EventListener(e -> received.add(e.getPayload())));
+        AzureEventBus.emit("test.slow", new Event("test.slow", this, "slow"));
+        AzureEventBus.emit("test.fast", new Event("test.fast", this, "fast"));
+        FakeResources.await(() -> received.contains("fast"));
+        assertEquals(Collections.singletonList("fast"), received);
+        assertEquals(1, AzureEventBus.getQueueDepth());
+
+        this.released.countDown();
+        FakeResources.await(() -> received.size() == 2);
+        assertEquals("slow", received.get(1));
+    }
+
+    @Test
+    public void testEventsWithoutListenersAreDropped() {
+        assertFalse(AzureEventBus.hasListeners("test.none"));
+        AzureEventBus.emit("test.none", this);
+        assertEquals(0, AzureEventBus.getQueueDepth());
+
+        final AzureEventBus.EventListener listener = new AzureEventBus.EventListener(e -> {
+        });
+        AzureEventBus.on("test.none", listener);
+        assertTrue(AzureEventBus.hasListeners("test.none"));
+        AzureEventBus.off("test.none", listener);
+        assertFalse(AzureEventBus.hasListeners("test.none"));
+    }
+
+    @Test
+    public void testFailingListenerDoesNotAffectOthers() {
+        final AtomicInteger received = new AtomicInteger();
+        AzureEventBus.on("test.failing", new AzureEventBus.EventListener(e -> {
+            throw new IllegalStateException("failed");
+        }));
+        AzureEventBus.on("test.failing", new AzureEventBus.EventListener(e -> received.incrementAndGet()));
+        AzureEventBus.once("test.failing", (source, payload) -> received.incrementAndGet());
+        AzureEventBus.emit("test.failing", new Event("test.failing", this, 1));
+        AzureEventBus.emit("test.failing", new Event("test.failing", this, 2));
+        FakeResources.await(() -> received.get() >= 3 && AzureEventBus.getQueueDepth() == 0);
+        assertEquals(3, received.get()); // `once` listener received the first event only
+    }
+
+    /**
+     * block the drainer of {@code type} in a listener, so that events of the type emitted afterwards stay queued until {@link #released}.
+     */
+    private void blockDrainer(String type) {
+        this.blockedTypes.add(type);
+        AzureEventBus.on(type, this.blocker);
+        AzureEventBus.emit(type, new Event(type, this, BLOCK));
+        await(this.blocked);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Event implements AzureEvent {
+        private final String type;
+        private final Object source;
+        private final Object payload;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AzureMetricsTest {
+    private static final int ITERATIONS = 1_000_000;
+
+    @After
+    public void tearDown() {
+        AzureMetrics.register(NoopMetricsRegistry.INSTANCE);
+    }
+
+    @Test
+    public void testNamesAreNotComputedIfDisabled() {
+        final AtomicInteger formatted = new AtomicInteger();
+        final Object arg = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "arg";
+            }
+        };
+        assertFalse(AzureMetrics.isEnabled());
+        AzureMetrics.counter("test.counter[%s]", arg).increment();
+        AzureMetrics.timer("test.timer[%s]", arg).record(1, TimeUnit.MILLISECONDS);
+        assertEquals(0, formatted.get());
+    }
+
+    @Test
+    public void testNamesAreFormattedIfEnabled() {
+        final InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        AzureMetrics.register(registry);
+        assertTrue(AzureMetrics.isEnabled());
+        AzureMetrics.counter("test.counter[%s]", "a").increment();
+        AzureMetrics.counter("test.counter[%s]", "a").increment();
+        AzureMetrics.timer("test.timer[%s]", "a").record(1, TimeUnit.MILLISECONDS);
+        assertSame(registry.counter("test.counter[a]"), AzureMetrics.counter("test.counter[%s]", "a"));
+        assertEquals(2, registry.counter("test.counter[a]").getCount());
+        assertEquals(1, registry.timer("test.timer[a]").getCount());
+    }
+
+    @Test
+    public void testCostOfDisabledMetrics() {
+        final String name = "subscriptions/{}/regions";
+        for (int i = 0; i < ITERATIONS; i++) { // warm up
+            AzureMetrics.counter("cache.hit[%s]", name).increment();
+            AzureMetrics.counter(String.format("cache.hit[%s]", name)).increment();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            AzureMetrics.counter("cache.hit[%s]", name).increment();
+        }
+        final long skipped = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            AzureMetrics.counter(String.format("cache.hit[%s]", name)).increment();
+        }
+        final long formatted = System.nanoTime() - start;
+        assertTrue(String.format("disabled counter: %dns, with name formatted: %dns", skipped, formatted), skipped < formatted);
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.microsoft.azure.toolkit.lib.common.task.TestTaskManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractAzResourceModuleTest {
+
+    @Before
+    public void setUp() {
+        TestTaskManager.register();
+    }
+
+    @Test
+    public void testStaleListingIsServedWhileRevalidating() throws InterruptedException {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.setCachePolicy(CachePolicy.builder().lifetime(100).maxStaleness(60000).build());
+        module.add("rg", "a");
+        assertEquals(1, module.list().size());
+        Thread.sleep(150);
+
+        module.add("rg", "b");
+        module.setLatency(500);
+        final long start = System.currentTimeMillis();
+        assertEquals(1, module.list().size()); // stale
+        assertEquals(1, module.list().size()); // still stale, not revalidated again
+        assertTrue(System.currentTimeMillis() - start < 500);
+        FakeResources.await(() -> module.list().size() == 2);
+        assertEquals(2, module.getListings().get());
+    }
+
+    @Test
+    public void testTooStaleListingIsReloaded() throws InterruptedException {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.setCachePolicy(CachePolicy.builder().lifetime(50).maxStaleness(50).build());
+        module.add("rg", "a");
+        module.list();
+        Thread.sleep(150);
+
+        module.add("rg", "b");
+        assertEquals(2, module.list().size()); // blocked on reloading
+        assertEquals(2, module.getListings().get());
+    }
+
+    @Test
+    public void testNegativeEntryExpires() throws InterruptedException {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.setCachePolicy(CachePolicy.builder().negativeLifetime(100).build());
+        assertNull(module.get("a", "rg"));
+        assertNull(module.get("a", "rg")); // cached miss
+        assertEquals(1, module.getGets().get());
+        Thread.sleep(150);
+
+        module.add("rg", "a");
+        assertNotNull(module.get("a", "rg"));
+        assertEquals(2, module.getGets().get());
+    }
+
+    @Test
+    public void testMissesAndLeastRecentlySyncedAreEvictedFirst() throws InterruptedException {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.setCachePolicy(CachePolicy.builder().maxEntries(2).build());
+        module.add("rg", "a");
+        module.add("rg", "b");
+        module.add("rg", "c");
+        module.get("missing", "rg");
+        module.get("a", "rg");
+        Thread.sleep(5);
+        module.get("b", "rg"); // the miss is evicted
+        assertEquals(Arrays.asList("a", "b"), names(module.listCachedResources()));
+        Thread.sleep(5);
+        module.get("c", "rg"); // "a" is evicted
+        assertEquals(Arrays.asList("b", "c"), names(module.listCachedResources()));
+    }
+
+    @Test
+    public void testListingIsNeverEvicted() {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.setCachePolicy(CachePolicy.builder().maxEntries(2).build());
+        module.add("rg", "a");
+        module.add("rg", "b");
+        module.add("rg", "c");
+        assertEquals(3, module.list().size());
+        assertNull(module.get("missing", "rg"));
+        assertEquals(3, module.listCachedResources().size());
+        assertEquals(3, module.list().size());
+        assertEquals(1, module.getListings().get()); // listing is not invalidated by eviction
+    }
+
+    @Test
+    public void testListingIsSharedUntilChanged() {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.add("rg2", "c");
+        module.add("rg1", "b");
+        module.add("rg1", "a");
+        final List<FakeResources.Resource> listing = module.list();
+        assertEquals(Arrays.asList("a", "b", "c"), listing.stream().map(AbstractAzResource::getName).collect(Collectors.toList()));
+        assertSame(listing, module.list());
+        assertEquals(Arrays.asList("a", "b"), names(module.listByResourceGroup("RG1")));
+
+        module.deleteResourceFromLocal(listing.get(0).getId(), true);
+        final List<FakeResources.Resource> changed = module.list();
+        assertNotSame(listing, changed);
+        assertEquals(Arrays.asList("b", "c"), names(changed));
+        assertEquals(3, listing.size()); // listings already returned are never changed
+        assertEquals(Collections.singletonList("b"), names(module.listByResourceGroup("rg1")));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testListingIsImmutable() {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.add("rg", "a");
+        module.list().clear();
+    }
+
+    @Test
+    public void testConcurrentListingsLoadOnce() throws Exception {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.add("rg", "a");
+        module.setLatency(200);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<List<FakeResources.Resource>>> listings = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                listings.add(executor.submit(module::list));
+            }
+            for (final Future<List<FakeResources.Resource>> listing : listings) {
+                assertEquals(1, listing.get().size());
+            }
+            assertEquals(1, module.getListings().get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvalidationWhileReloadingIsNotLost() throws Exception {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.add("rg", "a");
+        module.setLatency(300);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<List<FakeResources.Resource>> listing = executor.submit(module::list);
+            FakeResources.await(() -> module.getListings().get() == 1);
+            module.add("rg", "b");
+            module.invalidateCache();
+            assertEquals(1, listing.get().size());
+            module.setLatency(0);
+            assertEquals(2, module.list().size());
+            assertEquals(2, module.getListings().get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testGetsOfDifferentResourcesNeverBlockEachOther() throws Exception {
+        final FakeResources.Module module = FakeResources.newModule();
+        final int count = 8;
+        for (int i = 0; i < count; i++) {
+            module.add("rg", "r" + i);
+        }
+        module.setLatency(300);
+        final ExecutorService executor = Executors.newFixedThreadPool(count);
+        try {
+            final long start = System.currentTimeMillis();
+            final List<Future<FakeResources.Resource>> resources = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                final String name = "r" + i;
+                resources.add(executor.submit(() -> module.get(name, "rg")));
+            }
+            for (final Future<FakeResources.Resource> resource : resources) {
+                assertNotNull(resource.get());
+            }
+            assertTrue(System.currentTimeMillis() - start < 300L * count / 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentGetsOfSameResourceLoadOnce() throws Exception {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.add("rg", "a");
+        module.setLatency(200);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<FakeResources.Resource>> resources = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                resources.add(executor.submit(() -> module.get("a", "rg")));
+            }
+            final FakeResources.Resource resource = resources.get(0).get();
+            for (final Future<FakeResources.Resource> r : resources) {
+                assertSame(resource, r.get());
+            }
+            assertEquals(1, module.getGets().get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testModulesOfSameIdNeverShareLoadings() throws Exception {
+        final FakeResources.Module module = FakeResources.newModule();
+        final FakeResources.Module another = FakeResources.newModule(module.getParent().getName()); // e.g. typed and generic modules
+        module.add("rg", "a");
+        another.add("rg", "a");
+        module.setLatency(200);
+        another.setLatency(200);
+        assertEquals(module.toResourceId("a", "rg"), another.toResourceId("a", "rg"));
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<FakeResources.Resource> resource = executor.submit(() -> module.get("a", "rg"));
+            final Future<FakeResources.Resource> anotherResource = executor.submit(() -> another.get("a", "rg"));
+            assertSame(module, resource.get().getModule());
+            assertSame(another, anotherResource.get().getModule());
+            assertEquals(1, module.getGets().get());
+            assertEquals(1, another.getGets().get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAbsenceIsInferredFromFreshListing() {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.add("rg", "a");
+        module.list();
+        final List<FakeResources.Resource> resources = module.getAll(Arrays.asList(module.toResourceId("a", "rg"), module.toResourceId("b", "rg")));
+        assertEquals(Collections.singletonList("a"), names(resources));
+        assertEquals(0, module.getGets().get());
+    }
+
+    @Test
+    public void testAbsenceIsNotInferredFromStaleListing() throws InterruptedException {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.setCachePolicy(CachePolicy.builder().lifetime(100).maxStaleness(60000).build());
+        module.add("rg", "a");
+        module.list();
+        Thread.sleep(150);
+        module.add("rg", "b");
+        module.setLatency(300);
+        module.list(); // stale listing is served while revalidating
+        final List<FakeResources.Resource> resources = module.getAll(Collections.singletonList(module.toResourceId("b", "rg")));
+        assertEquals(Collections.singletonList("b"), names(resources));
+        assertEquals(1, module.getGets().get());
+    }
+
+    private static List<String> names(List<FakeResources.Resource> resources) {
+        return resources.stream().map(AbstractAzResource::getName).sorted().collect(Collectors.toList());
+    }
+}
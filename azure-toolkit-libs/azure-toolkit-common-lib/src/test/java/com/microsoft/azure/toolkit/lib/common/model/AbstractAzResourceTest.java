@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.microsoft.azure.toolkit.lib.common.task.TestTaskManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractAzResourceTest {
+
+    @Before
+    public void setUp() {
+        TestTaskManager.register();
+    }
+
+    @Test
+    public void testStaleRemoteIsServedWhileRevalidating() throws InterruptedException {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.setCachePolicy(CachePolicy.builder().lifetime(100).maxStaleness(60000).build());
+        final FakeResources.Remote stale = module.add("rg", "a");
+        final FakeResources.Resource resource = Objects.requireNonNull(module.get("a", "rg"));
+        assertSame(stale, resource.getRemote());
+        Thread.sleep(150);
+
+        final FakeResources.Remote fresh = module.add("rg", "a");
+        module.setLatency(500);
+        final long start = System.currentTimeMillis();
+        assertSame(stale, resource.getRemote());
+        assertSame(stale, resource.getRemote());
+        assertTrue(System.currentTimeMillis() - start < 500);
+        FakeResources.await(() -> resource.getRemote() == fresh);
+    }
+
+    @Test
+    public void testInvalidatedRemoteIsReloaded() {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.setCachePolicy(CachePolicy.builder().maxStaleness(60000).build());
+        module.add("rg", "a");
+        final FakeResources.Resource resource = Objects.requireNonNull(module.get("a", "rg"));
+
+        final FakeResources.Remote fresh = module.add("rg", "a");
+        resource.invalidateCache();
+        assertSame(fresh, resource.getRemote()); // never serve an invalidated remote
+    }
+
+    @Test
+    public void testResourcesOfSameIdNeverShareReloadings() throws Exception {
+        final FakeResources.Module module = FakeResources.newModule();
+        final FakeResources.Module another = FakeResources.newModule(module.getParent().getName());
+        module.add("rg", "a");
+        another.add("rg", "a");
+        final FakeResources.Resource resource = Objects.requireNonNull(module.get("a", "rg"));
+        final FakeResources.Resource anotherResource = Objects.requireNonNull(another.get("a", "rg"));
+        assertEquals(resource.getId(), anotherResource.getId());
+
+        final FakeResources.Remote fresh = module.add("rg", "a");
+        final FakeResources.Remote anotherFresh = another.add("rg", "a");
+        module.setLatency(200);
+        another.setLatency(200);
+        resource.invalidateCache();
+        anotherResource.invalidateCache();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<FakeResources.Remote> remote = executor.submit(() -> resource.getRemote());
+            final Future<FakeResources.Remote> anotherRemote = executor.submit(() -> anotherResource.getRemote());
+            assertSame(fresh, remote.get());
+            assertSame(anotherFresh, anotherRemote.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
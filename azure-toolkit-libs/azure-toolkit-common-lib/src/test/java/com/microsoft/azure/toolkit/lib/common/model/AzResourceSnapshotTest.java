@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.common.task.TestTaskManager;
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AzResourceSnapshotTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        TestTaskManager.register();
+        Azure.az().config().setResourceSnapshotEnabled(true);
+        Azure.az().config().setResourceSnapshotPath(this.folder.getRoot().getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() {
+        AzResourceSnapshot.clear();
+        Azure.az().config().setResourceSnapshotEnabled(null);
+        Azure.az().config().setResourceSnapshotPath(null);
+    }
+
+    @Test
+    public void testFreshSnapshotIsServedWithoutListing() {
+        final FakeResources.Module origin = FakeResources.newModule();
+        origin.add("rg", "a");
+        origin.add("rg", "b");
+        assertEquals(2, origin.list().size());
+
+        final FakeResources.Module module = FakeResources.newModule(origin.getParent().getName());
+        assertEquals(2, module.list().size());
+        assertEquals(0, module.getListings().get());
+    }
+
+    @Test
+    public void testStaleSnapshotIsServedWhileRevalidating() {
+        final FakeResources.Module origin = FakeResources.newModule();
+        origin.add("rg", "a");
+        origin.list();
+        final long old = System.currentTimeMillis() - 2 * CachePolicy.DEFAULT.getLifetime();
+        AzResourceSnapshot.load(origin).setSyncTime(old); // persisted long ago
+
+        final FakeResources.Module module = FakeResources.newModule(origin.getParent().getName());
+        module.add("rg", "a");
+        module.add("rg", "b");
+        module.setLatency(500);
+        final long start = System.currentTimeMillis();
+        final List<FakeResources.Resource> warmed = module.list();
+        assertEquals(1, warmed.size());
+        assertEquals(1, module.list().size()); // not blocked by the revalidation in progress
+        assertTrue(System.currentTimeMillis() - start < 500);
+        FakeResources.await(() -> module.list().size() == 2);
+        assertEquals(1, module.getListings().get());
+    }
+
+    @Test
+    public void testAbsenceIsNotInferredFromSnapshot() {
+        final FakeResources.Module origin = FakeResources.newModule();
+        origin.add("rg", "a");
+        origin.list();
+
+        final FakeResources.Module module = FakeResources.newModule(origin.getParent().getName());
+        module.add("rg", "a");
+        module.add("rg", "b"); // created after the snapshot is persisted
+        assertEquals(1, module.list().size());
+        final List<FakeResources.Resource> resources = module.getAll(Collections.singletonList(module.toResourceId("b", "rg")));
+        assertEquals(1, resources.size());
+        assertEquals(1, module.getGets().get());
+    }
+
+    @Test
+    public void testSnapshotIsWrittenInBackground() {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.add("rg", "a");
+        module.list();
+        final File file = new File(this.folder.getRoot(), module.getParent().getName() + ".json");
+        FakeResources.await(file::isFile);
+
+        final AzResourceSnapshot.Subscription persisted = JsonUtils.readFromJsonFile(file, AzResourceSnapshot.Subscription.class);
+        assertNotNull(persisted);
+        assertTrue(persisted.getModules() instanceof ConcurrentHashMap);
+        final AzResourceSnapshot.Module snapshot = persisted.getModules().get(module.getId().toLowerCase());
+        assertEquals(1, snapshot.getResources().size());
+        assertEquals("a", snapshot.getResources().get(0).getName());
+    }
+
+    @Test
+    public void testClear() {
+        final FakeResources.Module module = FakeResources.newModule();
+        module.add("rg", "a");
+        module.list();
+        AzResourceSnapshot.flush();
+        final File file = new File(this.folder.getRoot(), module.getParent().getName() + ".json");
+        assertTrue(file.isFile());
+
+        AzResourceSnapshot.clear();
+        assertFalse(file.exists());
+        assertNull(AzResourceSnapshot.load(module));
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.microsoft.azure.toolkit.lib.account.IAccount;
+import com.microsoft.azure.toolkit.lib.account.IAzureAccount;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.SneakyThrows;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * in-memory resource hierarchy for tests: {@link Service} > {@link Sub} > {@link Module} of {@link Resource}s.
+ * "Azure" of a module is a map of {@link Remote}s, calls to it are counted and can be slowed down by {@link Module#setLatency(long)}.
+ */
+public class FakeResources {
+    private static final AtomicInteger subscriptions = new AtomicInteger();
+
+    static {
+        // AzResourceModule.NONE must be initialized before AzResource.NONE, as it is when running in the IDE/plugins.
+        Objects.requireNonNull(AzResourceModule.NONE);
+    }
+
+    /**
+     * @return a module of a new subscription, so that tests never share cached/persisted state.
+     */
+    @Nonnull
+    public static Module newModule() {
+        return newModule("sub" + subscriptions.incrementAndGet());
+    }
+
+    @Nonnull
+    public static Module newModule(@Nonnull String subscriptionId) {
+        return new Sub(subscriptionId, new Service()).module;
+    }
+
+    @SneakyThrows
+    public static void await(@Nonnull BooleanSupplier condition) {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("condition is not met in 10 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * signed out account, registered by {@code META-INF/services}.
+     */
+    public static class Account implements IAzureAccount {
+        @Override
+        public String getName() {
+            return "Microsoft.FakeAccount";
+        }
+
+        @Override
+        public void refresh() {
+        }
+
+        @Override
+        public IAccount account() {
+            return null;
+        }
+
+        @Override
+        public List<Region> listRegions(String subscriptionId) {
+            return Collections.emptyList();
+        }
+    }
+
+    public static class Service extends AbstractAzService<Sub, Object> {
+        public Service() {
+            super("Microsoft.Fake");
+        }
+
+        @Nonnull
+        @Override
+        protected Sub newResource(@Nonnull Object remote) {
+            return new Sub(String.valueOf(remote), this);
+        }
+
+        @Nonnull
+        @Override
+        protected Sub newResource(@Nonnull String name, @Nullable String resourceGroupName) {
+            return new Sub(name, this);
+        }
+
+        @Nonnull
+        @Override
+        public String getResourceTypeName() {
+            return "Fake subscription";
+        }
+    }
+
+    public static class Sub extends AbstractAzServiceSubscription<Sub, Object> {
+        private final Module module = new Module(this);
+
+        private Sub(@Nonnull String subscriptionId, @Nonnull Service service) {
+            super(subscriptionId, service);
+        }
+
+        @Nonnull
+        @Override
+        public String getSubscriptionId() {
+            return this.getName();
+        }
+
+        @Nonnull
+        @Override
+        public List<AbstractAzResourceModule<?, Sub, ?>> getSubModules() {
+            return Collections.singletonList(this.module);
+        }
+    }
+
+    @Getter
+    public static class Module extends AbstractAzResourceModule<Resource, Sub, Remote> {
+        private final Map<String, Remote> azure = new ConcurrentHashMap<>(); // keyed by lower-cased "<resource group>/<name>"
+        private final AtomicInteger listings = new AtomicInteger();
+        private final AtomicInteger groupListings = new AtomicInteger();
+        private final AtomicInteger gets = new AtomicInteger();
+        @Setter
+        private volatile long latency;
+
+        private Module(@Nonnull Sub parent) {
+            super("fakes", parent);
+        }
+
+        @Nonnull
+        public Remote add(@Nonnull String resourceGroup, @Nonnull String name) {
+            final Remote remote = new Remote(name, resourceGroup);
+            this.azure.put(key(resourceGroup, name), remote);
+            return remote;
+        }
+
+        public void remove(@Nonnull String resourceGroup, @Nonnull String name) {
+            this.azure.remove(key(resourceGroup, name));
+        }
+
+        @Nonnull
+        @Override
+        protected Stream<Remote> loadResourcesFromAzure() {
+            this.listings.incrementAndGet();
+            final List<Remote> remotes = new ArrayList<>(this.azure.values()); // as of when the request is sent
+            this.sleep();
+            return remotes.stream();
+        }
+
+        @Nonnull
+        @Override
+        protected Stream<Remote> loadResourcesFromAzure(@Nonnull String resourceGroup) {
+            this.groupListings.incrementAndGet();
+            final List<Remote> remotes = this.azure.values().stream().filter(r -> r.resourceGroup.equalsIgnoreCase(resourceGroup)).collect(Collectors.toList());
+            this.sleep();
+            return remotes.stream();
+        }
+
+        @Nullable
+        @Override
+        protected Remote loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
+            this.gets.incrementAndGet();
+            final Remote remote = this.azure.get(key(Objects.requireNonNull(resourceGroup), name));
+            this.sleep();
+            return remote;
+        }
+
+        @Nonnull
+        @Override
+        protected Resource newResource(@Nonnull Remote remote) {
+            return new Resource(remote.name, remote.resourceGroup, this);
+        }
+
+        @Nonnull
+        @Override
+        protected Resource newResource(@Nonnull String name, @Nullable String resourceGroupName) {
+            return new Resource(name, Objects.requireNonNull(resourceGroupName), this);
+        }
+
+        @Nonnull
+        @Override
+        public String toResourceId(@Nonnull String resourceName, @Nullable String resourceGroup) {
+            return String.format("/subscriptions/%s/resourceGroups/%s/providers/Microsoft.Fake/fakes/%s",
+                this.getParent().getName(), resourceGroup, resourceName);
+        }
+
+        @Nonnull
+        @Override
+        public String getResourceTypeName() {
+            return "Fake";
+        }
+
+        @SneakyThrows
+        private void sleep() {
+            if (this.latency > 0) {
+                Thread.sleep(this.latency);
+            }
+        }
+
+        private static String key(@Nonnull String resourceGroup, @Nonnull String name) {
+            return (resourceGroup + "/" + name).toLowerCase();
+        }
+    }
+
+    public static class Resource extends AbstractAzResource<Resource, Sub, Remote> {
+        private Resource(@Nonnull String name, @Nonnull String resourceGroupName, @Nonnull Module module) {
+            super(name, resourceGroupName, module);
+        }
+
+        @Nonnull
+        @Override
+        public List<AbstractAzResourceModule<?, Resource, ?>> getSubModules() {
+            return Collections.emptyList();
+        }
+
+        @Nonnull
+        @Override
+        public String loadStatus(@Nonnull Remote remote) {
+            return Status.RUNNING;
+        }
+    }
+
+    @RequiredArgsConstructor
+    public static class Remote {
+        private final String name;
+        private final String resourceGroup;
+    }
+}
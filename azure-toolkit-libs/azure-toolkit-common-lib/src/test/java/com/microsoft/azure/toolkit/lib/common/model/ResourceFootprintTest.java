@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.microsoft.azure.toolkit.lib.common.task.TestTaskManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * heap benchmark of cached resources: listing allocates no per-resource bookkeeping (lock/debouncer) besides the resources.
+ */
+public class ResourceFootprintTest {
+    private static final int COUNT = 20000;
+
+    @Before
+    public void setUp() {
+        TestTaskManager.register();
+    }
+
+    @Test
+    public void testListingCreatesNoLockOrDebouncer() throws Exception {
+        final FakeResources.Module module = newModule(100);
+        final List<FakeResources.Resource> resources = listAndWait(module);
+        final Field lock = AbstractAzResource.class.getDeclaredField("lock");
+        final Field fireEvents = AbstractAzResource.class.getDeclaredField("fireEvents");
+        lock.setAccessible(true);
+        fireEvents.setAccessible(true);
+        for (final FakeResources.Resource resource : resources) {
+            assertEquals(AzResource.Status.RUNNING, resource.getStatus());
+            assertNull(lock.get(resource));
+            assertNull(fireEvents.get(resource));
+        }
+    }
+
+    @Test
+    public void testBytesPerCachedResource() {
+        final FakeResources.Module module = newModule(COUNT);
+        final long before = usedHeap();
+        final List<FakeResources.Resource> resources = listAndWait(module);
+        final long bytes = (usedHeap() - before) / COUNT;
+        assertEquals(COUNT, resources.size());
+        assertTrue(String.format("%d bytes per cached resource", bytes), bytes < 2048);
+    }
+
+    private static FakeResources.Module newModule(int count) {
+        final FakeResources.Module module = FakeResources.newModule();
+        for (int i = 0; i < count; i++) {
+            module.add("rg" + i % 10, "resource" + i);
+        }
+        return module;
+    }
+
+    private static List<FakeResources.Resource> listAndWait(FakeResources.Module module) {
+        final List<FakeResources.Resource> resources = module.list();
+        FakeResources.await(() -> resources.stream().allMatch(r -> r.getSyncTime() > 0)); // remotes are set asynchronously
+        return resources;
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
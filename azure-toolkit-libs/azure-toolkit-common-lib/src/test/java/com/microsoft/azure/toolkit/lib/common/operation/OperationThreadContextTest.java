@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.operation;
+
+import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import com.microsoft.azure.toolkit.lib.common.task.TestTaskManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OperationThreadContextTest {
+    private static final int ITERATIONS = 1_000_000;
+
+    private final AzureTask<Void> outer = new AzureTask<>("outer", () -> null);
+
+    @Before
+    public void setUp() {
+        TestTaskManager.register();
+        OperationThreadContext.pushOperation(this.outer);
+    }
+
+    @After
+    public void tearDown() {
+        OperationThreadContext.popOperation();
+        assertNull(Operation.current());
+    }
+
+    @Test
+    public void testMonoRunsInContextOfCreator() throws Exception {
+        final Mono<Operation> parent = AzureTaskManager.getInstance().runImmediatelyAsMono(new AzureTask<>("inner", () -> Operation.current().getParent()));
+        // subscribed by a thread without operations, e.g. a Reactor/RxJava worker.
+        assertSame(this.outer, CompletableFuture.supplyAsync(parent::block).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testMonoRunsInContextOfSubscriberIfCarried() throws Exception {
+        final AzureTask<Void> subscriber = new AzureTask<>("subscriber", () -> null);
+        final Mono<Operation> parent = AzureTaskManager.getInstance().runImmediatelyAsMono(new AzureTask<>("inner", () -> Operation.current().getParent()));
+        OperationThreadContext.pushOperation(subscriber);
+        final OperationThreadContext context = OperationThreadContext.current().derive();
+        OperationThreadContext.popOperation();
+        assertSame(subscriber, parent.contextWrite(context::writeTo).block());
+    }
+
+    @Test
+    public void testOperationIsRestoredAfterRun() {
+        final OperationThreadContext captured = OperationThreadContext.current().derive();
+        CompletableFuture.runAsync(() -> {
+            assertNull(Operation.current());
+            captured.wrap(() -> assertSame(this.outer, Operation.current())).run();
+            assertNull(Operation.current());
+        }).join();
+    }
+
+    /**
+     * cost of carrying the operation context over a thread hop, i.e. capturing it on one thread and restoring it on another.
+     */
+    @Test
+    public void testCostOfCaptureAndRestore() {
+        final AtomicInteger counter = new AtomicInteger();
+        final Runnable work = counter::incrementAndGet;
+        for (int i = 0; i < ITERATIONS; i++) { // warm up
+            OperationThreadContext.current().derive().wrap(work).run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            OperationThreadContext.current().derive().wrap(work).run();
+        }
+        final double nanos = (double) (System.nanoTime() - start) / ITERATIONS;
+        assertEquals(2 * ITERATIONS, counter.get());
+        assertTrue(String.format("%.1fns/op", nanos), nanos < 1000);
+    }
+
+    @Test
+    public void testCostOfMonoTask() {
+        final AzureTaskManager manager = AzureTaskManager.getInstance();
+        final int iterations = ITERATIONS / 10;
+        for (int i = 0; i < iterations; i++) { // warm up
+            manager.runImmediatelyAsMono(new AzureTask<>("task", () -> 1)).block();
+        }
+        int sum = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sum += manager.runImmediatelyAsMono(new AzureTask<>("task", () -> 1)).block();
+        }
+        final double nanos = (double) (System.nanoTime() - start) / iterations;
+        assertEquals(iterations, sum);
+        assertTrue(String.format("%.1fns/op", nanos), nanos < 100_000);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.common.metrics.InMemoryMetricsRegistry;
+import com.microsoft.azure.toolkit.lib.common.metrics.NoopMetricsRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AzureIoExecutorTest {
+
+    @After
+    public void tearDown() {
+        Azure.az().config().setIoConcurrency(null);
+        AzureMetrics.register(NoopMetricsRegistry.INSTANCE);
+    }
+
+    @Test
+    public void testResultsAreInOrderOfItems() {
+        final InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        AzureMetrics.register(registry);
+        final List<Integer> results = AzureIoExecutor.getInstance().map("test.order", Arrays.asList(3, 1, 2), i -> {
+            sleep(i * 20);
+            return i * 10;
+        });
+        assertEquals(Arrays.asList(30, 10, 20), results);
+        assertEquals(3, registry.timer("io.execute[test.order]").getCount());
+        assertEquals(3, registry.timer("io.queued[test.order]").getCount());
+    }
+
+    @Test
+    public void testConcurrencyIsBounded() {
+        Azure.az().config().setIoConcurrency(2);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        AzureIoExecutor.getInstance().map("test.bounded", Arrays.asList(1, 2, 3, 4, 5, 6), i -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            return running.decrementAndGet();
+        });
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    public void testNestedFanOutRunsInline() {
+        Azure.az().config().setIoConcurrency(1); // would deadlock if nested items were queued behind their parents
+        final List<List<Integer>> results = AzureIoExecutor.getInstance().map("test.outer", Arrays.asList(1, 2), i ->
+            AzureIoExecutor.getInstance().map("test.inner", Arrays.asList(i, i + 1), j -> j * 10));
+        assertEquals(Arrays.asList(Arrays.asList(10, 20), Arrays.asList(20, 30)), results);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailureIsRethrown() {
+        AzureIoExecutor.getInstance().map("test.failed", Arrays.asList(1, 2), i -> {
+            if (i == 2) {
+                throw new IllegalStateException("failed");
+            }
+            return i;
+        });
+    }
+
+    @Test
+    public void testExecute() {
+        final AtomicInteger executed = new AtomicInteger();
+        AzureIoExecutor.getInstance().execute("test.execute", executed::incrementAndGet);
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (executed.get() == 0 && System.currentTimeMillis() < deadline) {
+            sleep(5);
+        }
+        assertTrue(executed.get() > 0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
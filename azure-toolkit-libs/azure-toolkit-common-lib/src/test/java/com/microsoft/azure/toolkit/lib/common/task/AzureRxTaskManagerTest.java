@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import rx.Observable;
+import rx.schedulers.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AzureRxTaskManagerTest {
+
+    @BeforeClass
+    public static void setUp() {
+        Azure.az().config().setTaskConcurrency(1);
+        AzureTaskExecutor.reset();
+        AzureRxTaskManager.register();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        Azure.az().config().setTaskConcurrency(null);
+        AzureTaskExecutor.reset();
+    }
+
+    @Test
+    public void testBlockingIoDoesNotStarveBoundedBackend() throws Exception {
+        Assume.assumeFalse(AzureTaskExecutor.isVirtual());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Thread> io = new CompletableFuture<>();
+        Observable.fromCallable(() -> {
+            io.complete(Thread.currentThread());
+            return release.await(10, TimeUnit.SECONDS);
+        }).subscribeOn(Schedulers.io()).subscribe();
+        try {
+            assertTrue(io.get(10, TimeUnit.SECONDS).getName().startsWith("RxIoScheduler"));
+            // the only thread of the backend is still available
+            assertTrue(CompletableFuture.supplyAsync(() -> true, AzureTaskExecutor.getExecutor()).get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testIoRunsOnVirtualThreadsIfSupported() throws Exception {
+        Assume.assumeTrue(AzureTaskExecutor.isVirtual());
+        assertSame(Schedulers.io(), Schedulers.io()); // built once
+        final Thread thread = Observable.fromCallable(Thread::currentThread).subscribeOn(Schedulers.io()).toBlocking().single();
+        assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRegisterOnlyOnce() {
+        AzureRxTaskManager.register();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AzureTaskExecutorTest {
+    private ExecutorService custom;
+
+    @Before
+    public void setUp() {
+        TestTaskManager.register();
+        this.custom = Executors.newSingleThreadExecutor(r -> new Thread(r, "custom-backend"));
+    }
+
+    @After
+    public void tearDown() {
+        Azure.az().config().setTaskConcurrency(null);
+        AzureTaskExecutor.reset();
+        this.custom.shutdownNow();
+    }
+
+    @Test
+    public void testDefaultPoolIsBoundedByConfiguration() throws Exception {
+        Azure.az().config().setTaskConcurrency(2);
+        AzureTaskExecutor.reset();
+        Assume.assumeFalse("virtual threads are unbounded", AzureTaskExecutor.isVirtual());
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<CompletableFuture<Thread>> threads = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            threads.add(CompletableFuture.supplyAsync(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(50);
+                running.decrementAndGet();
+                return Thread.currentThread();
+            }, AzureTaskExecutor.getExecutor()));
+        }
+        for (final CompletableFuture<Thread> future : threads) {
+            final Thread thread = future.get(10, TimeUnit.SECONDS);
+            assertTrue(thread.isDaemon());
+            assertTrue(thread.getName().startsWith("azure-toolkit-task-"));
+        }
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    public void testDefaultRunsOnVirtualThreadsIfSupported() throws Exception {
+        Assume.assumeTrue("JDK 21+ only", AzureTaskExecutor.isVirtual());
+        final Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, AzureTaskExecutor.getExecutor()).get(10, TimeUnit.SECONDS);
+        assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+    }
+
+    @Test
+    public void testRegisteredExecutorIsTheOnlyBackend() throws Exception {
+        AzureTaskExecutor.register(this.custom);
+        assertSame(this.custom, AzureTaskExecutor.getExecutor());
+        assertFalse(AzureTaskExecutor.isVirtual());
+
+        final Thread reactor = Mono.fromCallable(Thread::currentThread).subscribeOn(AzureTaskExecutor.getScheduler()).block();
+        assertEquals("custom-backend", reactor.getName());
+
+        final CountDownLatch ran = new CountDownLatch(1);
+        final List<String> names = new ArrayList<>();
+        AzureTaskManager.getInstance().runOnPooledThread(() -> {
+            names.add(Thread.currentThread().getName());
+            ran.countDown();
+        });
+        assertTrue(ran.await(10, TimeUnit.SECONDS));
+        assertEquals("custom-backend", names.get(0));
+    }
+
+    @Test
+    public void testDefaultIsCreatedOnce() {
+        final Executor executor = AzureTaskExecutor.getExecutor();
+        assertSame(executor, AzureTaskExecutor.getExecutor());
+        assertSame(AzureTaskExecutor.getScheduler(), AzureTaskExecutor.getScheduler());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import com.microsoft.azure.toolkit.lib.common.model.FakeResources;
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AzureTaskScopeTest {
+    private static final BiConsumer<Runnable, AzureTask<?>> LAUNCHER = (r, t) -> AzureTaskExecutor.getExecutor().execute(r);
+
+    @After
+    public void tearDown() {
+        assertNull(AzureTaskScope.current()); // restored by closing
+    }
+
+    @Test
+    public void testFirstFailureCancelsSiblingsAndSkipsDependents() {
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final AtomicBoolean dependentRan = new AtomicBoolean();
+        try (final AzureTaskScope scope = AzureTaskScope.open(null, LAUNCHER)) {
+            final AzureTaskScope.Subtask<Void> slow = scope.fork(task(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10000);
+                } catch (final InterruptedException e) {
+                    interrupted.set(true);
+                    throw e;
+                }
+                return null;
+            }));
+            scope.fork(task(() -> {
+                await(started);
+                throw new IllegalStateException("failed");
+            }));
+            final AzureTaskScope.Subtask<Void> dependent = scope.fork(task(() -> {
+                dependentRan.set(true);
+                return null;
+            }), slow);
+
+            final Throwable failure = joinAndCatch(scope);
+            assertTrue(failure instanceof IllegalStateException);
+            assertTrue(scope.isCancelled());
+            assertTrue(interrupted.get());
+            assertTrue(slow.getTask().getMonitor().isCancelled());
+            assertTrue(dependent.isDone());
+            assertFalse(dependentRan.get());
+            assertGetFails(dependent);
+        }
+    }
+
+    @Test
+    public void testDependentsRunAfterDependencies() {
+        try (final AzureTaskScope scope = AzureTaskScope.open(null, LAUNCHER)) {
+            final AzureTaskScope.Subtask<Integer> first = scope.fork(task(() -> 1));
+            final AzureTaskScope.Subtask<Integer> second = scope.fork(task(() -> 2));
+            final AzureTaskScope.Subtask<Integer> sum = scope.fork(task(() -> first.get() + second.get()), first, second);
+            scope.join();
+            assertEquals(3, sum.get().intValue());
+        }
+    }
+
+    @Test
+    public void testExceededDeadlineFailsWithTimeout() {
+        final long start = System.nanoTime();
+        try (final AzureTaskScope scope = AzureTaskScope.open(Duration.ofMillis(100), LAUNCHER)) {
+            scope.fork(task(() -> {
+                Thread.sleep(10000);
+                return null;
+            }));
+            assertTrue(joinAndCatch(scope) instanceof TimeoutException);
+            assertEquals(Duration.ZERO, scope.getRemaining());
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    public void testNestedScopeInheritsDeadlineAndCancellation() {
+        try (final AzureTaskScope outer = AzureTaskScope.open(Duration.ofMinutes(1), LAUNCHER)) {
+            try (final AzureTaskScope inner = AzureTaskScope.open(Duration.ofHours(1), LAUNCHER)) {
+                assertSame(inner, AzureTaskScope.current());
+                assertEquals(outer.getDeadline(), inner.getDeadline()); // the earlier one
+                inner.cancel();
+                assertFalse(outer.isCancelled()); // not propagated to the enclosing scope
+            }
+            assertSame(outer, AzureTaskScope.current());
+
+            final AtomicReference<AzureTaskScope> nested = new AtomicReference<>();
+            final AzureTaskScope.Subtask<Void> subtask = outer.fork(task(() -> {
+                try (final AzureTaskScope scope = AzureTaskScope.open(null, LAUNCHER)) { // opened in subtask
+                    nested.set(scope);
+                    scope.sleep(Duration.ofSeconds(10));
+                }
+                return null;
+            }));
+            FakeResources.await(() -> nested.get() != null);
+            assertEquals(outer.getDeadline(), nested.get().getDeadline());
+            outer.cancel();
+            assertTrue(joinAndCatch(outer) instanceof CancellationException);
+            assertTrue(nested.get().isCancelled());
+            assertGetFails(subtask);
+        }
+    }
+
+    @Test
+    public void testBindAfterCancellationFails() {
+        final AtomicInteger subscribed = new AtomicInteger();
+        try (final AzureTaskScope scope = AzureTaskScope.open(null, LAUNCHER)) {
+            scope.cancel();
+            final Mono<Integer> bound = scope.bind(Mono.fromCallable(subscribed::incrementAndGet));
+            try {
+                bound.block();
+                fail("bound mono should fail once the scope is cancelled");
+            } catch (final CancellationException e) {
+                assertEquals(0, subscribed.get()); // never subscribed
+            }
+            assertGetFails(scope.fork(task(() -> 1))); // skipped
+        }
+    }
+
+    @Test
+    public void testBindIsCancelledWithScope() {
+        try (final AzureTaskScope scope = AzureTaskScope.open(Duration.ofMillis(100), LAUNCHER)) {
+            final long start = System.nanoTime();
+            try {
+                scope.block(Mono.never());
+                fail("blocking should end with the scope");
+            } catch (final RuntimeException e) {
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        }
+    }
+
+    @Test
+    public void testJoinReturnsAfterClose() {
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final CountDownLatch started = new CountDownLatch(1);
+        final AzureTaskScope scope = AzureTaskScope.open(null, LAUNCHER);
+        final AzureTaskScope.Subtask<Void> slow = scope.fork(task(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (final InterruptedException e) {
+                interrupted.set(true);
+                throw e;
+            }
+            return null;
+        }));
+        final AzureTaskScope.Subtask<Void> dependent = scope.fork(task(() -> null), slow);
+        await(started);
+        scope.close();
+
+        final long start = System.nanoTime();
+        assertTrue(joinAndCatch(scope) instanceof CancellationException);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(interrupted.get());
+        assertGetFails(dependent);
+    }
+
+    private static <T> AzureTask<T> task(Callable<T> body) {
+        return new AzureTask<>("test", body);
+    }
+
+    private static Throwable joinAndCatch(AzureTaskScope scope) {
+        try {
+            scope.join();
+        } catch (final Throwable t) {
+            return t;
+        }
+        throw new AssertionError("scope should fail");
+    }
+
+    private static void assertGetFails(AzureTaskScope.Subtask<?> subtask) {
+        try {
+            subtask.get();
+            fail("subtask should not succeed");
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
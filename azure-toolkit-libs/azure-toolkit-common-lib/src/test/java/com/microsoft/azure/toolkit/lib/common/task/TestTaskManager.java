@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+/**
+ * task manager without UI thread: ui tasks run immediately, background tasks run on pooled threads.
+ */
+public class TestTaskManager extends AzureTaskManager {
+
+    public static void register() {
+        AzureTaskManager.register(new TestTaskManager()); // no-op if registered already
+    }
+
+    @Override
+    protected void doRead(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doWrite(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doRunLater(Runnable runnable, AzureTask<?> task) {
+        this.doRunOnPooledThread(runnable, task);
+    }
+
+    @Override
+    protected void doRunAndWait(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doRunInBackground(Runnable runnable, AzureTask<?> task) {
+        this.doRunOnPooledThread(runnable, task);
+    }
+
+    @Override
+    protected void doRunInModal(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+}
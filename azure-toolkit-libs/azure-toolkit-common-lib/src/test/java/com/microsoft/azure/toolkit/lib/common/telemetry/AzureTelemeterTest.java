@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.telemetry;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class AzureTelemeterTest {
+
+    @After
+    public void tearDown() {
+        AzureTelemeter.setClient(null);
+        Azure.az().config().setTelemetryEnabled(null);
+    }
+
+    @Test
+    public void testTimestampsAreTrackedByClientRegisteredLater() {
+        final AzureTask<Void> op = new AzureTask<>("test.track_later.task", () -> null);
+        AzureTelemeter.afterCreate(op);
+        AzureTelemeter.beforeEnter(op);
+
+        final RecordingClient client = new RecordingClient();
+        AzureTelemeter.setClient(client);
+        AzureTelemeter.afterExit(op);
+        assertEquals(1, client.events.size());
+        final Map<String, String> properties = client.events.get(0);
+        assertNotNull(properties.get(AzureTelemetry.OP_CREATE_AT));
+        assertNotNull(properties.get(AzureTelemetry.OP_ENTER_AT));
+        assertNotNull(properties.get(AzureTelemetry.OP_EXIT_AT));
+    }
+
+    @Test
+    public void testExitIsRecordedWithoutClient() {
+        final AzureTask<Void> op = new AzureTask<>("test.no_client.task", () -> null);
+        AzureTelemeter.afterExit(op);
+        assertNotNull(op.getContext().getTelemetryProperties().get(AzureTelemetry.OP_EXIT_AT));
+        final AzureTask<Void> failed = new AzureTask<>("test.no_client.failed", () -> null);
+        AzureTelemeter.onError(failed, new IllegalStateException());
+        assertNotNull(failed.getContext().getTelemetryProperties().get(AzureTelemetry.OP_EXIT_AT));
+    }
+
+    @Test
+    public void testNothingIsRecordedIfDisabled() {
+        Azure.az().config().setTelemetryEnabled(false);
+        assertFalse(AzureTelemeter.isTelemetryEnabled());
+        final RecordingClient client = new RecordingClient();
+        AzureTelemeter.setClient(client); // a registered client doesn't override configuration
+        final AzureTask<Void> op = new AzureTask<>("test.disabled.task", () -> null);
+        AzureTelemeter.afterCreate(op);
+        AzureTelemeter.beforeEnter(op);
+        AzureTelemeter.afterExit(op);
+        AzureTelemeter.onError(op, new IllegalStateException());
+        assertTrue(op.getContext().getTelemetryProperties().isEmpty());
+        assertTrue(client.events.isEmpty());
+
+        Azure.az().config().setTelemetryEnabled(null);
+        assertTrue(AzureTelemeter.isTelemetryEnabled());
+    }
+
+    private static class RecordingClient extends AzureTelemetryClient {
+        private final List<Map<String, String>> events = new ArrayList<>();
+
+        @Override
+        public void trackEvent(@Nonnull String eventName, @Nullable Map<String, String> customProperties, @Nullable Map<String, Double> metrics) {
+            this.events.add(new HashMap<>(customProperties));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.common.metrics.InMemoryMetricsRegistry;
+import com.microsoft.azure.toolkit.lib.common.metrics.NoopMetricsRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+    private InMemoryMetricsRegistry registry;
+
+    @Before
+    public void setUp() {
+        this.registry = new InMemoryMetricsRegistry();
+        AzureMetrics.register(this.registry);
+    }
+
+    @After
+    public void tearDown() {
+        AzureMetrics.register(NoopMetricsRegistry.INSTANCE);
+    }
+
+    @Test
+    public void testConcurrentCallsAreCoalesced() throws Exception {
+        final SingleFlight<String, Integer> flight = new SingleFlight<>("test.coalesced");
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> flight.execute("key", () -> {
+                executions.incrementAndGet();
+                await(release);
+                return 42;
+            })));
+            waitUntilInFlight(flight, "key");
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> flight.execute("key", executions::incrementAndGet)));
+            }
+            waitUntil(() -> registry.counter("singleflight.coalesced[test.coalesced]").getCount() == 3);
+            release.countDown();
+            for (final Future<Integer> result : results) {
+                assertEquals(42, (int) result.get());
+            }
+            assertEquals(1, executions.get());
+            assertEquals(4, registry.counter("singleflight.call[test.coalesced]").getCount());
+            assertFalse(flight.isInFlight("key")); // nothing is cached
+            assertEquals(2, (int) flight.execute("key", executions::incrementAndGet));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExceptionIsShared() throws Exception {
+        final SingleFlight<String, Integer> flight = new SingleFlight<>("test.failed");
+        final IllegalStateException error = new IllegalStateException("failed");
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Integer> first = executor.submit(() -> flight.execute("key", () -> {
+                await(release);
+                throw error;
+            }));
+            waitUntilInFlight(flight, "key");
+            final Future<Integer> second = executor.submit(() -> flight.execute("key", () -> 0));
+            waitUntil(() -> registry.counter("singleflight.coalesced[test.failed]").getCount() == 1);
+            release.countDown();
+            assertSame(error, causeOf(first));
+            assertSame(error, causeOf(second));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDifferentKeysAreNotCoalesced() {
+        final SingleFlight<String, String> flight = new SingleFlight<>("test.keys");
+        assertEquals("ab", flight.execute("a", () -> "a" + flight.execute("b", () -> "b"))); // never waits for another key
+    }
+
+    @Test
+    public void testEqualKeysOfDifferentOwnersAreNotCoalesced() {
+        final SingleFlight<Object, String> flight = new SingleFlight<>("test.owners");
+        final Object owner = new Object();
+        final Object another = new Object();
+        assertEquals(SingleFlight.owned(owner, "a"), SingleFlight.owned(owner, "a"));
+        assertEquals("ab", flight.execute(SingleFlight.owned(owner, "a"), () -> "a" + flight.execute(SingleFlight.owned(another, "a"), () -> "b")));
+    }
+
+    private static Throwable causeOf(Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+            fail("exception is expected");
+            return null;
+        } catch (final ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntilInFlight(SingleFlight<String, ?> flight, String key) throws InterruptedException {
+        waitUntil(() -> flight.isInFlight(key));
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("condition is not met in 10 seconds", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import com.microsoft.azure.toolkit.lib.common.model.FakeResources;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TailingDebouncerTest {
+    private static final int DELAY = 100;
+
+    @Test
+    public void testBurstRunsOnceAfterLastCall() throws InterruptedException {
+        final AtomicInteger runs = new AtomicInteger();
+        final AtomicLong ranAt = new AtomicLong();
+        final TailingDebouncer debouncer = new TailingDebouncer(() -> {
+            ranAt.set(System.nanoTime());
+            runs.incrementAndGet();
+        }, DELAY);
+        for (int i = 0; i < 5; i++) {
+            debouncer.debounce();
+            Thread.sleep(DELAY / 2); // every call postpones the pending run
+        }
+        final long last = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(DELAY / 2);
+        assertEquals(0, runs.get());
+        assertTrue(debouncer.isPending());
+        FakeResources.await(() -> runs.get() == 1);
+        assertTrue(ranAt.get() - last >= TimeUnit.MILLISECONDS.toNanos(DELAY));
+        Thread.sleep(2 * DELAY);
+        assertEquals(1, runs.get());
+        assertFalse(debouncer.isPending());
+    }
+
+    @Test
+    public void testDebouncedCanRunAgain() {
+        final AtomicInteger runs = new AtomicInteger();
+        final TailingDebouncer debouncer = new TailingDebouncer(runs::incrementAndGet, 10);
+        for (int i = 1; i <= 3; i++) {
+            debouncer.debounce();
+            final int expected = i;
+            FakeResources.await(() -> runs.get() == expected);
+        }
+    }
+
+    @Test
+    public void testCancelledIsNotRun() throws InterruptedException {
+        final AtomicInteger runs = new AtomicInteger();
+        final TailingDebouncer debouncer = new TailingDebouncer(runs::incrementAndGet, DELAY);
+        debouncer.debounce();
+        debouncer.cancel();
+        assertFalse(debouncer.isPending());
+        Thread.sleep(2 * DELAY);
+        assertEquals(0, runs.get());
+
+        debouncer.debounce();
+        debouncer.cancel();
+        debouncer.debounce(); // re-armed while the cancelled timeout is still in the wheel
+        FakeResources.await(() -> runs.get() == 1);
+    }
+
+    @Test
+    public void testIsPendingWhileRunning() {
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final TailingDebouncer debouncer = new TailingDebouncer(() -> {
+            running.countDown();
+            await(release);
+        }, 10);
+        debouncer.debounce();
+        await(running);
+        assertTrue(debouncer.isPending());
+        release.countDown();
+        FakeResources.await(() -> !debouncer.isPending());
+    }
+
+    @Test
+    public void testTimeoutsAreNeverExpiredEarly() {
+        final int count = 200;
+        final List<Long> deadlines = new ArrayList<>();
+        final ConcurrentHashMap<Integer, Long> expiredAt = new ConcurrentHashMap<>();
+        final long now = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            final long deadline = now + TimeUnit.MILLISECONDS.toNanos(ThreadLocalRandom.current().nextInt(500));
+            deadlines.add(deadline);
+            TimerWheel.getInstance().schedule(new TimerWheel.Timeout() {
+                @Override
+                public long getDeadline() {
+                    return deadline;
+                }
+
+                @Override
+                public void expire() {
+                    expiredAt.put(index, System.nanoTime());
+                }
+            });
+        }
+        FakeResources.await(() -> expiredAt.size() == count);
+        for (int i = 0; i < count; i++) {
+            final long late = expiredAt.get(i) - deadlines.get(i);
+            assertTrue(late >= 0);
+            assertTrue(String.format("expired %dms late", TimeUnit.NANOSECONDS.toMillis(late)), late < TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
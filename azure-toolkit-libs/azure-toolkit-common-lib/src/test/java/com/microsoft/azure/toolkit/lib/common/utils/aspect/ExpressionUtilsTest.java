@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils.aspect;
+
+import groovy.text.SimpleTemplateEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ExpressionUtilsTest {
+    private static final int ITERATIONS = 100; // compiling groovy templates is slow
+    private static final String[] NAMES = {"name"};
+
+    private final Logger logger = Logger.getLogger(ExpressionUtils.class.getName());
+    private final List<LogRecord> records = new ArrayList<>();
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Before
+    public void setUp() {
+        this.logger.addHandler(this.handler);
+    }
+
+    @After
+    public void tearDown() {
+        this.logger.removeHandler(this.handler);
+    }
+
+    @Test
+    public void testTemplateIsCompiledOncePerMethod() throws Exception {
+        final String template = "${name}/$name";
+        assertEquals("a/a", ExpressionUtils.render(template, invocation("simple", "a")));
+        final Object compiled = compiled("simple", template);
+        assertNotNull(compiled);
+        assertEquals("b/b", ExpressionUtils.render(template, invocation("simple", "b")));
+        assertSame(compiled, compiled("simple", template));
+    }
+
+    @Test
+    public void testGroovyTemplateIsCompiledOnce() throws Exception {
+        final String template = "${name?.toUpperCase()}"; // not supported by SimpleTemplate
+        assertEquals("A", ExpressionUtils.render(template, invocation("groovy", "a")));
+        final Object groovy = groovyOf(compiled("groovy", template));
+        assertTrue(((Optional<?>) groovy).isPresent());
+        assertEquals("B", ExpressionUtils.render(template, invocation("groovy", "b")));
+        assertEquals("null", ExpressionUtils.render(template, invocation("groovy", (Object) null)));
+        assertSame(groovy, groovyOf(compiled("groovy", template)));
+    }
+
+    @Test
+    public void testFailedCompileIsRemembered() throws Exception {
+        final String template = "${name"; // invalid
+        assertEquals(template, ExpressionUtils.render(template, invocation("failed", "a")));
+        assertEquals(template, ExpressionUtils.render(template, invocation("failed", "b")));
+        assertEquals(1, this.records.stream().filter(r -> r.getMessage().startsWith("error occurs when compile template")).count());
+        assertEquals(Optional.empty(), groovyOf(compiled("failed", template)));
+    }
+
+    /**
+     * cost of rendering a cached template compared to compiling it with Groovy on every render.
+     */
+    @Test
+    public void testCostOfCachedRender() {
+        final String template = "${name}/${name.length()}";
+        final MethodInvocation invocation = invocation("cost", "a");
+        final SimpleTemplateEngine engine = new SimpleTemplateEngine();
+        final Map<String, Object> bindings = ExpressionUtils.Groovy.initBindings(invocation);
+        for (int i = 0; i < ITERATIONS; i++) { // warm up
+            assertEquals("a/1", ExpressionUtils.render(template, invocation));
+            assertEquals("a/1", compileAndRender(engine, template, bindings));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            ExpressionUtils.render(template, invocation);
+        }
+        final long cached = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            compileAndRender(engine, template, bindings);
+        }
+        final long compiled = System.nanoTime() - start;
+        assertTrue(String.format("cached: %dns, compiled on every render: %dns", cached, compiled), cached < compiled);
+    }
+
+    private static String compileAndRender(SimpleTemplateEngine engine, String template, Map<String, Object> bindings) {
+        try {
+            return engine.createTemplate(template).make(bindings).toString();
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodInvocation invocation(String method, Object name) {
+        return FakeInvocation.of(method(method), null, NAMES, name);
+    }
+
+    private static Method method(String name) {
+        try {
+            return ExpressionUtilsTest.class.getDeclaredMethod(name, String.class);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object compiled(String method, String template) throws Exception {
+        final Field field = ExpressionUtils.class.getDeclaredField("templates");
+        field.setAccessible(true);
+        return ((Map<Method, Map<String, Object>>) field.get(null)).get(method(method)).get(template);
+    }
+
+    private static Object groovyOf(Object compiled) throws Exception {
+        final Field field = compiled.getClass().getDeclaredField("groovy");
+        field.setAccessible(true);
+        return field.get(compiled);
+    }
+
+    // methods that templates are evaluated against, each test uses its own.
+
+    private static void simple(String name) {
+    }
+
+    private static void groovy(String name) {
+    }
+
+    private static void failed(String name) {
+    }
+
+    private static void cost(String name) {
+    }
+}
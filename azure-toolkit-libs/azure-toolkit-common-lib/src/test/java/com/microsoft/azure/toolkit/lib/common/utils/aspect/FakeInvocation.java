@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils.aspect;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * {@link MethodInvocation} of {@code method} on {@code instance} without weaving, backed by a proxied {@link JoinPoint}.
+ */
+public class FakeInvocation {
+
+    @Nonnull
+    public static MethodInvocation of(@Nonnull Method method, @Nullable Object instance, @Nonnull String[] names, Object... args) {
+        final MethodSignature signature = (MethodSignature) Proxy.newProxyInstance(FakeInvocation.class.getClassLoader(),
+            new Class<?>[]{MethodSignature.class}, (proxy, m, a) -> {
+                switch (m.getName()) {
+                    case "getMethod":
+                        return method;
+                    case "getParameterNames":
+                        return names;
+                    default:
+                        throw new UnsupportedOperationException(m.getName());
+                }
+            });
+        final JoinPoint point = (JoinPoint) Proxy.newProxyInstance(FakeInvocation.class.getClassLoader(),
+            new Class<?>[]{JoinPoint.class}, (proxy, m, a) -> {
+                switch (m.getName()) {
+                    case "getSignature":
+                        return signature;
+                    case "getThis":
+                        return instance;
+                    case "getArgs":
+                        return args.clone();
+                    default:
+                        throw new UnsupportedOperationException(m.getName());
+                }
+            });
+        return new MethodInvocation(point);
+    }
+}
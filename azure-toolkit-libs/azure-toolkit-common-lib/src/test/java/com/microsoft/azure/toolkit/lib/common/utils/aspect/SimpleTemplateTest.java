@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils.aspect;
+
+import com.microsoft.azure.toolkit.lib.common.model.Region;
+import groovy.text.Template;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link SimpleTemplate} must render the same as Groovy, templates not supported must be left to Groovy.
+ */
+public class SimpleTemplateTest {
+    private static final String ID = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Web/sites/app";
+    private static final String[] NAMES = {"id", "subscriptionId", "region", "name", "origin", "value"};
+
+    @Test
+    public void testTemplatesOfRepo() throws Exception {
+        // keys of @Cacheable and (wrapped by `${}`) params of @AzureOperation
+        final MethodInvocation invocation = invocation(new Target(null), ID, "sub", Region.US_EAST, "name", new Target(null), null);
+        assertSameAsGroovy(ID, "$id", invocation);
+        assertSameAsGroovy("sub", "$subscriptionId", invocation);
+        assertSameAsGroovy("sub", "${subscriptionId}", invocation);
+        assertSameAsGroovy("sub/eastus", "${subscriptionId}/${region.getName()}", invocation);
+        assertSameAsGroovy(Target.ID, "${this.getId()}", invocation);
+        assertSameAsGroovy("target", "${this.getName()}", invocation);
+        assertSameAsGroovy("target type", "${this.getResourceTypeName()}", invocation);
+        assertSameAsGroovy("name", "${name}", invocation);
+        assertSameAsGroovy("target", "${origin.getName()}", invocation);
+        assertSameAsGroovy("target name", "${this.name()}", invocation);
+        assertSameAsGroovy("app", "${nameFromResourceId(id)}", invocation);
+        assertSameAsGroovy("target-app", "${nameFromResourceId(this.getId())}", invocation);
+        assertSameAsGroovy("app name", "${this.config.appName()}", invocation);
+        assertSameAsGroovy("app name", "${this.config.getAppName()}", invocation);
+        assertSameAsGroovy("slot name/app name", "${this.config.deploymentSlotName()}/${this.config.appName()}", invocation);
+        assertSameAsGroovy("rg", "${this.resourceGroupName}", invocation);
+        assertSameAsGroovy("parent", "${this.getParent().getName()}", invocation(new Target(new Target(null, "parent")), NAMES.length));
+    }
+
+    @Test
+    public void testGStringForm() throws Exception {
+        final MethodInvocation invocation = invocation(new Target(null), ID, "sub", Region.US_EAST, "name", new Target(null), null);
+        assertSameAsGroovy("eastus", "$region.name", invocation);
+        assertSameAsGroovy("eastus.", "$region.name.", invocation);
+        assertSameAsGroovy("eastus/sub", "$region.name/$subscriptionId", invocation);
+        assertSameAsGroovy("subname", "$subscriptionId$name", invocation);
+        assertSameAsGroovy("[sub-name]", "[$subscriptionId-$name]", invocation);
+        assertSameAsGroovy("app name", "$this.config.appName", invocation);
+        assertSameAsGroovy("a b", "a b", invocation);
+    }
+
+    @Test
+    public void testUnsupportedTemplatesAreNotParsed() {
+        for (final String template : Arrays.asList("$region.getName()", "${name?.length()}", "${name + id}", "${unknown}", "$unknown",
+            "${name", "$", "$1", "<% out << name %>", "\\$name", "${name.substring(1)}", "${nameFromResourceId(id, name)}")) {
+            assertNull(template, SimpleTemplate.parse(template, NAMES));
+        }
+    }
+
+    @Test
+    public void testIsGetterOfPrimitiveBooleanOnly() throws Exception {
+        final MethodInvocation invocation = invocation(new Target(null), NAMES.length);
+        assertSameAsGroovy("true", "${this.enabled}", invocation);
+        assertSameAsGroovy("true", "$this.enabled", invocation);
+        assertSameAsGroovy("false", "${this.exposed}", invocation); // `getExposed()` wins over `isExposed()`
+        assertRenderedAsGroovy("${this.boxed}", invocation); // `Boolean isBoxed()` is not a getter
+    }
+
+    @Test
+    public void testMapProperties() throws Exception {
+        final Map<String, Object> map = new HashMap<>();
+        map.put("name", "n");
+        map.put("size", 42);
+        final MethodInvocation invocation = invocation(null, null, null, null, null, null, map);
+        assertSameAsGroovy("n", "${value.name}", invocation);
+        assertSameAsGroovy("n", "$value.name", invocation);
+        assertSameAsGroovy("42", "${value.size}", invocation); // entry, not `size()`
+        assertSameAsGroovy("2", "${value.size()}", invocation);
+        assertSameAsGroovy("null", "${value.missing}", invocation);
+    }
+
+    @Test
+    public void testValuesAreFormattedAsGroovy() throws Exception {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", Arrays.asList("x", null));
+        for (final Object value : Arrays.asList(null, "s", 1, 1L, 1.5d, 0.1f, new BigDecimal("1.50"), true, 'c', Color.RED, Region.US_EAST,
+            Arrays.asList(1, "a", null), Collections.emptyList(), map, Collections.emptyMap(), new int[]{1, 2}, new String[]{"a", "b"},
+            new Object[]{new int[]{1}, Collections.singletonList(2)}, new Target(null))) {
+            assertSameAsGroovy(null, "${value}", invocation(null, null, null, null, null, null, value));
+            assertSameAsGroovy(null, "[$value]", invocation(null, null, null, null, null, null, value));
+        }
+    }
+
+    @Test
+    public void testNameFromResourceId() throws Exception {
+        assertSameAsGroovy("app", "${nameFromResourceId(id)}", invocation(null, ID));
+        assertSameAsGroovy("app", "${nameFromResourceId( id )}", invocation(null, ID));
+        assertSameAsGroovy("null", "${nameFromResourceId(id)}", invocation(null, (Object) null));
+        final String template = "${nameFromResourceId(id)}"; // fails for invalid ids, as in groovy
+        assertEquals(template, ExpressionUtils.render(template, invocation(null, "name")));
+        assertRenderedAsGroovy("${nameFromResourceId(region)}", invocation(null, null, null, Region.US_EAST)); // not a string
+    }
+
+    @Test
+    public void testNavigatingThroughNullFallsBackToGroovy() throws Exception {
+        final MethodInvocation invocation = invocation(new Target(null), NAMES.length);
+        assertSameAsGroovy("null", "${region}", invocation);
+        assertRenderedAsGroovy("${region.getName()}", invocation);
+        assertRenderedAsGroovy("$region.name", invocation);
+        assertRenderedAsGroovy("${this.getParent().getName()}", invocation);
+        assertRenderedAsGroovy("${this.getName()}/${this.missing}", invocation); // unsupported member
+    }
+
+    @Test
+    public void testFailedGetterIsCalledOnce() {
+        final Target target = new Target(null);
+        final String template = "${this.getFailing()}";
+        assertEquals(template, ExpressionUtils.render(template, invocation(target, NAMES.length)));
+        assertEquals(1, target.failures.get());
+    }
+
+    private static void assertSameAsGroovy(String expected, String template, MethodInvocation invocation) throws Exception {
+        final SimpleTemplate simple = SimpleTemplate.parse(template, invocation.getParameterNames());
+        assertNotNull(template, simple);
+        final Template groovy = ExpressionUtils.Groovy.compile(template).orElseThrow(() -> new AssertionError(template));
+        final String rendered = groovy.make(ExpressionUtils.Groovy.initBindings(invocation)).toString();
+        if (expected != null) {
+            assertEquals(template, expected, rendered);
+        }
+        assertEquals(template, rendered, simple.render(invocation));
+        assertEquals(template, rendered, ExpressionUtils.render(template, invocation));
+    }
+
+    /**
+     * templates that are parsed but can't be rendered by {@link SimpleTemplate} for the invocation.
+     */
+    private static void assertRenderedAsGroovy(String template, MethodInvocation invocation) throws Exception {
+        final SimpleTemplate simple = SimpleTemplate.parse(template, invocation.getParameterNames());
+        assertNotNull(template, simple);
+        try {
+            simple.render(invocation);
+            fail(template + " is expected to be unsupported");
+        } catch (final SimpleTemplate.UnsupportedTemplateException expected) {
+            // fall back to groovy
+        }
+        final Template groovy = ExpressionUtils.Groovy.compile(template).orElseThrow(() -> new AssertionError(template));
+        String rendered;
+        try {
+            rendered = groovy.make(ExpressionUtils.Groovy.initBindings(invocation)).toString();
+        } catch (final Exception e) {
+            rendered = template;
+        }
+        assertEquals(template, rendered, ExpressionUtils.render(template, invocation));
+    }
+
+    private static MethodInvocation invocation(Object instance, Object... args) {
+        final Object[] values = Arrays.copyOf(args, NAMES.length);
+        return FakeInvocation.of(method(), instance, NAMES, values);
+    }
+
+    private static MethodInvocation invocation(Object instance, int nulls) {
+        return invocation(instance, new Object[nulls]);
+    }
+
+    private static Method method() {
+        try {
+            return SimpleTemplateTest.class.getDeclaredMethod("target", String.class, String.class, Region.class, String.class, Target.class, Object.class);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static void target(String id, String subscriptionId, Region region, String name, Target origin, Object value) {
+    }
+
+    enum Color {
+        RED
+    }
+
+    @SuppressWarnings("unused")
+    public static class Target {
+        static final String ID = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Web/sites/target-app";
+        private final Target parent;
+        private final String name;
+        private final Config config = new Config();
+        private final String resourceGroupName = "rg";
+        private final AtomicInteger failures = new AtomicInteger();
+
+        Target(Target parent) {
+            this(parent, "target");
+        }
+
+        Target(Target parent, String name) {
+            this.parent = parent;
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public String name() {
+            return "target name";
+        }
+
+        public String getId() {
+            return ID;
+        }
+
+        public String getResourceTypeName() {
+            return "target type";
+        }
+
+        public Target getParent() {
+            return this.parent;
+        }
+
+        public boolean isEnabled() {
+            return true;
+        }
+
+        public boolean isExposed() {
+            return true;
+        }
+
+        public Boolean getExposed() {
+            return false;
+        }
+
+        public Boolean isBoxed() {
+            return true;
+        }
+
+        public String getFailing() {
+            this.failures.incrementAndGet();
+            throw new IllegalStateException("failed");
+        }
+
+        @Override
+        public String toString() {
+            return "Target(" + this.name + ")";
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Config {
+        public String appName() {
+            return "app name";
+        }
+
+        public String getAppName() {
+            return "app name";
+        }
+
+        public String deploymentSlotName() {
+            return "slot name";
+        }
+    }
+}
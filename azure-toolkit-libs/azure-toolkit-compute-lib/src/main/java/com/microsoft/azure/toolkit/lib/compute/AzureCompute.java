@@ -107,7 +107,7 @@ public class AzureCompute extends AbstractAzService<ComputeServiceSubscription,
         return Optional.ofNullable(rm).map(m -> m.listPublishers(region)).orElse(Collections.emptyList());
     }
 
-    @Cacheable(cacheName = "vm/{}/sizes", key = "${subscriptionId}/${region.getName()}")
+    @Cacheable(cacheName = "vm/{}/sizes", key = "${subscriptionId}/${region.getName()}", diskLifetime = 24 * 60 * 60 * 1000L)
     public List<VmSize> listSizes(@Nonnull final String subscriptionId, @Nonnull final Region region) {
         final ComputeServiceSubscription rm = get(subscriptionId, null);
         return Optional.ofNullable(rm).map(m -> m.listSizes(region)).orElse(Collections.emptyList());
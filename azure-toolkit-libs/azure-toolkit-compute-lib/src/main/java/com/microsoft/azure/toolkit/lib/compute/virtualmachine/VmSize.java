@@ -6,6 +6,8 @@
 package com.microsoft.azure.toolkit.lib.compute.virtualmachine;
 
 import com.azure.resourcemanager.compute.models.ComputeSku;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
@@ -25,7 +27,8 @@ public class VmSize {
         this.name = size.name().toString();
     }
 
-    public VmSize(final String name) {
+    @JsonCreator
+    public VmSize(@JsonProperty("name") final String name) {
         this.name = name;
     }
 }
@@ -6,17 +6,20 @@
 package com.microsoft.azure.toolkit.lib.springcloud;
 
 import com.azure.resourcemanager.appplatform.models.DeploymentInstance;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskExecutor;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskScope;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
-import rx.Observable;
-import rx.schedulers.Schedulers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.Callable;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 public class Utils {
@@ -64,12 +67,13 @@ public class Utils {
      * @return the first resource which fit the predicate or the last result before timeout
      */
     public static <T> T pollUntil(Callable<T> callable, @Nonnull Predicate<T> predicate, int timeOutInSeconds, int pollingInterval) {
-        final long timeout = System.currentTimeMillis() + timeOutInSeconds * 1000L;
-        return Observable.interval(pollingInterval, TimeUnit.SECONDS)
-                .timeout(timeOutInSeconds, TimeUnit.SECONDS)
-                .flatMap(aLong -> Observable.fromCallable(callable))
-                .subscribeOn(Schedulers.io())
-                .takeUntil(resource -> predicate.test(resource) || System.currentTimeMillis() > timeout)
-                .toBlocking().last();
+        // ticks are dropped while polling, so a slow callable is never called concurrently.
+        final Mono<T> last = Flux.interval(Duration.ofSeconds(pollingInterval))
+            .onBackpressureDrop()
+            .concatMap(i -> Mono.fromCallable(callable).subscribeOn(AzureTaskExecutor.getScheduler()), 1)
+            .takeUntil(predicate)
+            .take(Duration.ofSeconds(timeOutInSeconds))
+            .takeLast(1).next();
+        return Optional.ofNullable(AzureTaskScope.current()).map(s -> s.bind(last)).orElse(last).block();
     }
 }
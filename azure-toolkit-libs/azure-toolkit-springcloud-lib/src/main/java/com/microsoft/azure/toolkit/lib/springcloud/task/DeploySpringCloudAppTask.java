@@ -11,6 +11,7 @@ import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeExcep
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskScope;
 import com.microsoft.azure.toolkit.lib.springcloud.AzureSpringCloud;
 import com.microsoft.azure.toolkit.lib.springcloud.SpringCloudAppDraft;
 import com.microsoft.azure.toolkit.lib.springcloud.SpringCloudCluster;
@@ -94,7 +95,11 @@ public class DeploySpringCloudAppTask extends AzureTask<SpringCloudDeployment> {
     @Override
     @AzureOperation(name = "springcloud.create_update_app.app", params = {"this.config.getAppName()"}, type = AzureOperation.Type.SERVICE)
     public SpringCloudDeployment doExecute() throws Exception {
+        // each step depends on the previous one (app -> deployment -> active deployment of app), so they run in sequence
+        // on the current thread, the remaining steps are skipped once the enclosing scope (if any) is cancelled.
+        final AzureTaskScope scope = AzureTaskScope.current();
         for (final AzureTask<?> t : this.subTasks) {
+            Optional.ofNullable(scope).ifPresent(AzureTaskScope::throwIfCancelled);
             t.getBody().call();
         }
         return this.deployment;